@@ -1,6 +1,7 @@
 plugins {
     id("java")
     kotlin("jvm") version "1.9.20-Beta2"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "de.klosebrothers"
@@ -28,6 +29,25 @@ dependencies {
 tasks.test {
     useJUnitPlatform()
 }
+
+jmh {
+    includeTests.set(false)
+    jmhVersion.set("1.37")
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+}
+
+sourceSets["test"].compileClasspath += sourceSets["jmh"].output
+sourceSets["test"].runtimeClasspath += sourceSets["jmh"].output
+
+tasks.register<JavaExec>("scalingReport") {
+    group = "benchmark"
+    description = "Simplifies generated workloads of increasing size and reports wall time, iterations, peak heap and transactions."
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("de.klosebrothers.benchmark.ScalingReport")
+    args = (project.findProperty("scalingReportArgs") as String?)?.split(" ") ?: emptyList()
+}
 kotlin {
     jvmToolchain(19)
 }
\ No newline at end of file
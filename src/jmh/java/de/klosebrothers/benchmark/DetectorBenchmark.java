@@ -0,0 +1,66 @@
+package de.klosebrothers.benchmark;
+
+import de.klosebrothers.algorithm.AlternativePathDetector;
+import de.klosebrothers.algorithm.CycleDetector;
+import de.klosebrothers.algorithm.MaximumChainDetector;
+import de.klosebrothers.graph.CompactGraph;
+import de.klosebrothers.graph.Vertex;
+import de.klosebrothers.graph.WeightedEdge;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DetectorBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int numberOfParticipants;
+
+    @Param({"100", "1000", "10000"})
+    public int numberOfPayments;
+
+    @Param({"0.1", "0.5", "1.0"})
+    public double density;
+
+    private CompactGraph graph;
+    private CompactGraph acyclicGraph;
+
+    @Setup(Level.Trial)
+    public void buildGraphs() {
+        RandomPayments randomPayments = RandomPayments.generate(numberOfParticipants, numberOfPayments, density, 1337);
+        graph = CompactGraph.of(randomPayments.toGraph(false));
+        acyclicGraph = CompactGraph.of(randomPayments.toGraph(true));
+    }
+
+    @Benchmark
+    public List<Vertex> getCycle() {
+        return CycleDetector.getCycle(graph);
+    }
+
+    @Benchmark
+    public Optional<List<WeightedEdge>> getMaximumChain() {
+        return MaximumChainDetector.getMaximumChain(acyclicGraph);
+    }
+
+    @Benchmark
+    public Optional<List<Vertex>> getAlternativePath() {
+        return AlternativePathDetector.getAlternativePath(acyclicGraph);
+    }
+}
@@ -0,0 +1,65 @@
+package de.klosebrothers.benchmark;
+
+import de.klosebrothers.minimumtransactions.Payments;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaymentsBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int numberOfParticipants;
+
+    @Param({"100", "1000", "10000"})
+    public int numberOfPayments;
+
+    @Param({"0.1", "0.5", "1.0"})
+    public double density;
+
+    private RandomPayments randomPayments;
+
+    @Setup(Level.Trial)
+    public void generatePayments() {
+        randomPayments = RandomPayments.generate(numberOfParticipants, numberOfPayments, density, 1337);
+    }
+
+    @State(Scope.Thread)
+    public static class RegisteredPayments {
+        private Payments payments;
+
+        @Setup(Level.Invocation)
+        public void registerPayments(PaymentsBenchmark benchmark) {
+            payments = new Payments();
+            benchmark.randomPayments.registerInto(payments);
+        }
+    }
+
+    @Benchmark
+    public Payments registerPayment() {
+        Payments payments = new Payments();
+        randomPayments.registerInto(payments);
+        return payments;
+    }
+
+    @Benchmark
+    public String simplify(RegisteredPayments registeredPayments) {
+        registeredPayments.payments.simplify(false);
+        return registeredPayments.payments.getResolvingPayments();
+    }
+}
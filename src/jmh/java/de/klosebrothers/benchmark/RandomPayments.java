@@ -0,0 +1,67 @@
+package de.klosebrothers.benchmark;
+
+import de.klosebrothers.graph.Vertex;
+import de.klosebrothers.graph.WeightedGraph;
+import de.klosebrothers.minimumtransactions.Payments;
+import java.util.Random;
+
+public class RandomPayments {
+
+    private final int numberOfParticipants;
+    private final int[] givers;
+    private final int[] recipients;
+    private final double[] amounts;
+
+    private RandomPayments(int numberOfParticipants, int[] givers, int[] recipients, double[] amounts) {
+        this.numberOfParticipants = numberOfParticipants;
+        this.givers = givers;
+        this.recipients = recipients;
+        this.amounts = amounts;
+    }
+
+    public static RandomPayments generate(int numberOfParticipants, int numberOfPayments, double density, long seed) {
+        Random random = new Random(seed);
+        long numberOfPossiblePairs = (long) numberOfParticipants * (numberOfParticipants - 1);
+        int numberOfPairs = (int) Math.max(1, Math.min(numberOfPayments, Math.round(density * numberOfPossiblePairs)));
+        int[] pairGivers = new int[numberOfPairs];
+        int[] pairRecipients = new int[numberOfPairs];
+        for (int pair = 0; pair < numberOfPairs; pair++) {
+            pairGivers[pair] = random.nextInt(numberOfParticipants);
+            pairRecipients[pair] = (pairGivers[pair] + 1 + random.nextInt(numberOfParticipants - 1)) % numberOfParticipants;
+        }
+        int[] givers = new int[numberOfPayments];
+        int[] recipients = new int[numberOfPayments];
+        double[] amounts = new double[numberOfPayments];
+        for (int payment = 0; payment < numberOfPayments; payment++) {
+            int pair = random.nextInt(numberOfPairs);
+            givers[payment] = pairGivers[pair];
+            recipients[payment] = pairRecipients[pair];
+            amounts[payment] = random.nextInt(1, 100);
+        }
+        return new RandomPayments(numberOfParticipants, givers, recipients, amounts);
+    }
+
+    public void registerInto(Payments payments) {
+        for (int payment = 0; payment < givers.length; payment++) {
+            payments.registerPayment(getName(givers[payment]), amounts[payment], getName(recipients[payment]));
+        }
+    }
+
+    public WeightedGraph toGraph(boolean acyclic) {
+        WeightedGraph graph = new WeightedGraph();
+        for (int participant = 0; participant < numberOfParticipants; participant++) {
+            graph.addVertex(new Vertex(getName(participant)));
+        }
+        for (int payment = 0; payment < givers.length; payment++) {
+            Vertex giver = graph.getVertexById(acyclic ? Math.min(givers[payment], recipients[payment]) : givers[payment]);
+            Vertex recipient = graph.getVertexById(acyclic ? Math.max(givers[payment], recipients[payment]) : recipients[payment]);
+            double amount = amounts[payment];
+            giver.getOutEdgeToVertex(recipient).ifPresentOrElse(edge -> edge.addWeight(amount), () -> graph.addEdge(giver, recipient, amount));
+        }
+        return graph;
+    }
+
+    private static String getName(int participant) {
+        return "Person" + participant;
+    }
+}
@@ -0,0 +1,89 @@
+package de.klosebrothers.benchmark;
+
+import de.klosebrothers.minimumtransactions.Payments;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+public class ScalingReport {
+
+    private static final int PAYMENTS_PER_PARTICIPANT = 5;
+    private static final int[] DEFAULT_SIZES = {1_000, 10_000, 100_000};
+    private static final Duration HEAP_SAMPLING_INTERVAL = Duration.ofMillis(1);
+
+    private ScalingReport() {
+    }
+
+    public static void main(String[] args) {
+        WorkloadShape shape = args.length > 0 ? WorkloadShape.valueOf(args[0]) : WorkloadShape.MIXED;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1337;
+        int[] sizes = args.length > 2 ? Arrays.stream(args, 2, args.length).mapToInt(Integer::parseInt).toArray() : DEFAULT_SIZES;
+        System.out.printf("%-16s %12s %10s %12s %12s %10s %14s %12s%n",
+                "shape", "participants", "payments", "register ms", "simplify ms", "iterations", "peak heap MiB", "transactions");
+        for (int numberOfParticipants : sizes) {
+            Workload workload = new WorkloadGenerator(seed, numberOfParticipants).generate(shape, PAYMENTS_PER_PARTICIPANT * numberOfParticipants);
+            System.out.println(run(shape, workload));
+        }
+    }
+
+    private static String run(WorkloadShape shape, Workload workload) {
+        System.gc();
+        HeapSampler heapSampler = new HeapSampler();
+        Payments payments = new Payments();
+        long registerStart = System.nanoTime();
+        workload.registerInto(payments);
+        heapSampler.sample();
+        long simplifyStart = System.nanoTime();
+        payments.simplify(false);
+        long simplifyEnd = System.nanoTime();
+        long peakHeap = heapSampler.stop();
+        long numberOfTransactions = payments.getResolvingPayments().lines().count();
+        return String.format("%-16s %12d %10d %12.1f %12.1f %10d %14.1f %12d",
+                shape, workload.getNumberOfParticipants(), workload.getNumberOfPayments(),
+                (simplifyStart - registerStart) / 1e6, (simplifyEnd - simplifyStart) / 1e6,
+                payments.getNumberOfSimplifyIterations(), peakHeap / (1024.0 * 1024.0), numberOfTransactions);
+    }
+
+    private static class HeapSampler {
+        private final MemoryMXBean memory;
+        private final AtomicLong peakHeap;
+        private final Thread sampler;
+        private volatile boolean sampling;
+
+        HeapSampler() {
+            memory = ManagementFactory.getMemoryMXBean();
+            peakHeap = new AtomicLong();
+            sampling = true;
+            sample();
+            sampler = new Thread(this::sampleContinuously, "heap-sampler");
+            sampler.setDaemon(true);
+            sampler.start();
+        }
+
+        void sample() {
+            peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+        }
+
+        long stop() {
+            sampling = false;
+            try {
+                sampler.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+            sample();
+            return peakHeap.get();
+        }
+
+        private void sampleContinuously() {
+            while (sampling) {
+                sample();
+                LockSupport.parkNanos(HEAP_SAMPLING_INTERVAL.toNanos());
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package de.klosebrothers.benchmark;
+
+import de.klosebrothers.minimumtransactions.Payments;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class Workload {
+
+    private final int numberOfParticipants;
+    private final List<WorkloadPayment> payments;
+
+    public Workload(int numberOfParticipants) {
+        this.numberOfParticipants = numberOfParticipants;
+        payments = new ArrayList<>();
+    }
+
+    public void addPayment(int giver, double amount, int... recipients) {
+        payments.add(new WorkloadPayment(giver, amount, recipients));
+    }
+
+    public int getNumberOfParticipants() {
+        return numberOfParticipants;
+    }
+
+    public int getNumberOfPayments() {
+        return payments.size();
+    }
+
+    public void registerInto(Payments target) {
+        for (WorkloadPayment payment : payments) {
+            String[] recipientNames = Arrays.stream(payment.recipients()).mapToObj(Workload::getName).toArray(String[]::new);
+            target.registerPayment(getName(payment.giver()), payment.amount(), recipientNames);
+        }
+    }
+
+    public static String getName(int participant) {
+        return "Person" + participant;
+    }
+
+    private record WorkloadPayment(int giver, double amount, int[] recipients) {
+    }
+}
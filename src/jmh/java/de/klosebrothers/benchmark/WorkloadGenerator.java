@@ -0,0 +1,112 @@
+package de.klosebrothers.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class WorkloadGenerator {
+
+    private static final double PAYER_EXPONENT = 1.2;
+    private static final int MAXIMUM_SHARED_EXPENSE_SIZE = 50;
+    private static final int CLIQUE_SIZE = 8;
+    private static final int CHAIN_LENGTH = 100;
+    private static final WorkloadShape[] MIXED_SHAPES = {
+            WorkloadShape.POWER_LAW_PAYERS, WorkloadShape.SHARED_EXPENSES, WorkloadShape.CLIQUES, WorkloadShape.CHAINS
+    };
+
+    private final Random random;
+    private final int numberOfParticipants;
+    private final double[] cumulativePayerWeights;
+    private int chainCursor;
+
+    public WorkloadGenerator(long seed, int numberOfParticipants) {
+        if (numberOfParticipants < 2) {
+            throw new IllegalArgumentException("a workload needs at least two participants but got " + numberOfParticipants);
+        }
+        random = new Random(seed);
+        this.numberOfParticipants = numberOfParticipants;
+        cumulativePayerWeights = new double[numberOfParticipants];
+        double cumulativeWeight = 0;
+        for (int participant = 0; participant < numberOfParticipants; participant++) {
+            cumulativeWeight += 1 / Math.pow(participant + 1, PAYER_EXPONENT);
+            cumulativePayerWeights[participant] = cumulativeWeight;
+        }
+    }
+
+    public Workload generate(WorkloadShape shape, int numberOfPayments) {
+        Workload workload = new Workload(numberOfParticipants);
+        for (int payment = 0; payment < numberOfPayments; payment++) {
+            WorkloadShape paymentShape = shape == WorkloadShape.MIXED ? MIXED_SHAPES[random.nextInt(MIXED_SHAPES.length)] : shape;
+            switch (paymentShape) {
+                case POWER_LAW_PAYERS -> addPowerLawPayment(workload);
+                case SHARED_EXPENSES -> addSharedExpense(workload);
+                case CLIQUES -> addCliquePayment(workload);
+                case CHAINS -> addChainPayment(workload);
+                default -> throw new IllegalStateException("unexpected workload shape " + paymentShape);
+            }
+        }
+        return workload;
+    }
+
+    private void addPowerLawPayment(Workload workload) {
+        int giver = getPowerLawPayer();
+        int recipient = getOtherParticipant(giver, 0, numberOfParticipants);
+        workload.addPayment(giver, getAmount(), recipient);
+    }
+
+    private void addSharedExpense(Workload workload) {
+        int giver = getPowerLawPayer();
+        int groupStart = giver / MAXIMUM_SHARED_EXPENSE_SIZE * MAXIMUM_SHARED_EXPENSE_SIZE;
+        int groupSize = Math.min(MAXIMUM_SHARED_EXPENSE_SIZE, numberOfParticipants - groupStart);
+        int numberOfRecipients = 1 + random.nextInt(groupSize);
+        workload.addPayment(giver, getAmount(), getDistinctParticipants(groupStart, groupSize, numberOfRecipients));
+    }
+
+    private void addCliquePayment(Workload workload) {
+        int cliqueStart = random.nextInt(numberOfParticipants) / CLIQUE_SIZE * CLIQUE_SIZE;
+        int cliqueSize = Math.min(CLIQUE_SIZE, numberOfParticipants - cliqueStart);
+        if (cliqueSize < 2) {
+            cliqueStart -= CLIQUE_SIZE;
+            cliqueSize += CLIQUE_SIZE;
+        }
+        int giver = cliqueStart + random.nextInt(cliqueSize);
+        workload.addPayment(giver, getAmount(), getOtherParticipant(giver, cliqueStart, cliqueSize));
+    }
+
+    private void addChainPayment(Workload workload) {
+        while (chainCursor + 1 >= numberOfParticipants || (chainCursor + 1) % CHAIN_LENGTH == 0) {
+            chainCursor = chainCursor + 1 >= numberOfParticipants ? 0 : chainCursor + 1;
+        }
+        int chain = chainCursor / CHAIN_LENGTH;
+        workload.addPayment(chainCursor, 10.0 * (1 + chain % 5), chainCursor + 1);
+        chainCursor++;
+    }
+
+    private int getPowerLawPayer() {
+        double weight = random.nextDouble() * cumulativePayerWeights[numberOfParticipants - 1];
+        int payer = Arrays.binarySearch(cumulativePayerWeights, weight);
+        return Math.min(payer < 0 ? -payer - 1 : payer, numberOfParticipants - 1);
+    }
+
+    private int getOtherParticipant(int participant, int rangeStart, int rangeSize) {
+        int offset = 1 + random.nextInt(rangeSize - 1);
+        return rangeStart + (participant - rangeStart + offset) % rangeSize;
+    }
+
+    private int[] getDistinctParticipants(int rangeStart, int rangeSize, int numberOfParticipantsToPick) {
+        int[] participants = new int[rangeSize];
+        for (int index = 0; index < rangeSize; index++) {
+            participants[index] = rangeStart + index;
+        }
+        for (int index = 0; index < numberOfParticipantsToPick; index++) {
+            int swapIndex = index + random.nextInt(rangeSize - index);
+            int participant = participants[swapIndex];
+            participants[swapIndex] = participants[index];
+            participants[index] = participant;
+        }
+        return Arrays.copyOf(participants, numberOfParticipantsToPick);
+    }
+
+    private double getAmount() {
+        return (1 + random.nextInt(20_000)) / 100.0;
+    }
+}
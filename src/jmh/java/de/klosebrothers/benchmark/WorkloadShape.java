@@ -0,0 +1,9 @@
+package de.klosebrothers.benchmark;
+
+public enum WorkloadShape {
+    POWER_LAW_PAYERS,
+    SHARED_EXPENSES,
+    CLIQUES,
+    CHAINS,
+    MIXED
+}
@@ -1,11 +1,12 @@
 package de.klosebrothers.algorithm;
 
+import de.klosebrothers.graph.CompactGraph;
+import de.klosebrothers.graph.TraversalKernel;
 import de.klosebrothers.graph.Vertex;
 import de.klosebrothers.graph.WeightedGraph;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.Stack;
-import java.util.function.Predicate;
 
 public class AlternativePathDetector {
 
@@ -13,40 +14,52 @@ public class AlternativePathDetector {
     }
 
     public static Optional<List<Vertex>> getAlternativePath(WeightedGraph graph) {
-        return graph.getVertices().stream()
-                .map(AlternativePathDetector::getAlternativePathToNeighborVerticesOfVertex)
-                .filter(Optional::isPresent)
-                .findAny()
-                .orElse(Optional.empty());
+        return getAlternativePath(CompactGraph.of(graph));
     }
 
-    private static Optional<List<Vertex>> getAlternativePathToNeighborVerticesOfVertex(Vertex vertex) {
-        List<Vertex> outVertices = vertex.getOutVertices();
-        if (outVertices.size() < 2) {
-            return Optional.empty();
-        }
-        return getSmallestAlternativePathToNeighborVertices(vertex);
+    public static Optional<List<Vertex>> getAlternativePath(CompactGraph graph) {
+        boolean[] startVertices = new boolean[graph.getNumberOfVertices()];
+        Arrays.fill(startVertices, true);
+        return getAlternativePath(graph, startVertices);
     }
 
-    private static Optional<List<Vertex>> getSmallestAlternativePathToNeighborVertices(Vertex vertex) {
-        Stack<Vertex> potentialChain = new Stack<>();
-        if (processVertexForAlternativePathSearch(vertex.getOutVertices(), vertex, potentialChain)) {
-            return Optional.of(potentialChain.stream().toList());
+    public static Optional<List<Vertex>> getAlternativePath(CompactGraph graph, boolean[] startVertices) {
+        TraversalKernel kernel = graph.getTraversalKernel();
+        for (int vertex = 0; vertex < graph.getNumberOfVertices(); vertex++) {
+            if (!startVertices[vertex] || graph.getOutDegree(vertex) < 2) {
+                continue;
+            }
+            if (findAlternativePathToNeighborVertices(graph, kernel, vertex)) {
+                return Optional.of(graph.getVertices(kernel.getVertexStack(), kernel.size()));
+            }
         }
         return Optional.empty();
     }
 
-    private static boolean processVertexForAlternativePathSearch(List<Vertex> targetVertices, Vertex currentVertex, Stack<Vertex> potentialChain) {
-        potentialChain.push(currentVertex);
-        if (potentialChain.size() > 2 && targetVertices.contains(currentVertex)) {
-            return true;
+    private static boolean findAlternativePathToNeighborVertices(CompactGraph graph, TraversalKernel kernel, int startVertex) {
+        kernel.clearTargets();
+        for (int edge = graph.getEdgesBegin(startVertex); edge < graph.getEdgesEnd(startVertex); edge++) {
+            kernel.markTarget(graph.getTarget(edge));
         }
-        if (currentVertex.getOutVertices().stream()
-                .filter(Predicate.not(potentialChain::contains)).toList().stream()
-                .anyMatch(nextVertex -> processVertexForAlternativePathSearch(targetVertices, nextVertex, potentialChain))) {
-            return true;
+        kernel.startTraversal();
+        kernel.markVisited(startVertex);
+        kernel.push(startVertex);
+        while (!kernel.isEmpty()) {
+            int edge = kernel.nextEdge();
+            if (edge < 0) {
+                kernel.unmarkVisited(kernel.pop());
+                continue;
+            }
+            int nextVertex = graph.getTarget(edge);
+            if (kernel.isVisited(nextVertex)) {
+                continue;
+            }
+            kernel.push(nextVertex);
+            if (kernel.size() > 2 && kernel.isTarget(nextVertex)) {
+                return true;
+            }
+            kernel.markVisited(nextVertex);
         }
-        potentialChain.pop();
         return false;
     }
 }
@@ -0,0 +1,26 @@
+package de.klosebrothers.algorithm;
+
+import java.time.Duration;
+
+public record ChainSearchBudget(long maximumNumberOfNodes, Duration maximumDuration) {
+
+    public static final ChainSearchBudget UNLIMITED = new ChainSearchBudget(Long.MAX_VALUE, Duration.ofNanos(Long.MAX_VALUE));
+    public static final ChainSearchBudget DEFAULT = ofNodes(10_000_000);
+
+    public ChainSearchBudget {
+        if (maximumNumberOfNodes <= 0) {
+            throw new IllegalArgumentException("maximum number of nodes must be positive but was " + maximumNumberOfNodes);
+        }
+        if (maximumDuration.isNegative() || maximumDuration.isZero()) {
+            throw new IllegalArgumentException("maximum duration must be positive but was " + maximumDuration);
+        }
+    }
+
+    public static ChainSearchBudget ofNodes(long maximumNumberOfNodes) {
+        return new ChainSearchBudget(maximumNumberOfNodes, UNLIMITED.maximumDuration());
+    }
+
+    public static ChainSearchBudget ofDuration(Duration maximumDuration) {
+        return new ChainSearchBudget(UNLIMITED.maximumNumberOfNodes(), maximumDuration);
+    }
+}
@@ -0,0 +1,12 @@
+package de.klosebrothers.algorithm;
+
+import de.klosebrothers.graph.WeightedEdge;
+import java.util.List;
+import java.util.Optional;
+
+public record ChainSearchResult(Optional<List<WeightedEdge>> chain, boolean exhausted) {
+
+    public boolean isChainFree() {
+        return chain.isEmpty() && !exhausted;
+    }
+}
@@ -0,0 +1,195 @@
+package de.klosebrothers.algorithm;
+
+import de.klosebrothers.graph.CompactGraph;
+import de.klosebrothers.graph.Vertex;
+import de.klosebrothers.graph.WeightedEdge;
+import de.klosebrothers.graph.WeightedGraph;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class CycleCanceller {
+
+    private final WeightedGraph graph;
+    private final CompactGraph compactGraph;
+    private final Consumer<List<Vertex>> cycleCancelledListener;
+    private final boolean[] removedEdges;
+    private final int[] componentStamps;
+    private final int[] visitStamps;
+    private final int[] indices;
+    private final int[] lowLinks;
+    private final boolean[] onTarjanStack;
+    private final int[] tarjanStack;
+    private final int[] callStack;
+    private final int[] edgeCursors;
+    private final int[] pathEdges;
+    private int componentStamp;
+    private int visitStamp;
+    private int numberOfCancelledCycles;
+
+    private CycleCanceller(WeightedGraph graph, CompactGraph compactGraph, Consumer<List<Vertex>> cycleCancelledListener) {
+        this.graph = graph;
+        this.compactGraph = compactGraph;
+        this.cycleCancelledListener = cycleCancelledListener;
+        int numberOfVertices = compactGraph.getNumberOfVertices();
+        removedEdges = new boolean[compactGraph.getNumberOfEdges()];
+        componentStamps = new int[numberOfVertices];
+        visitStamps = new int[numberOfVertices];
+        indices = new int[numberOfVertices];
+        lowLinks = new int[numberOfVertices];
+        onTarjanStack = new boolean[numberOfVertices];
+        tarjanStack = new int[numberOfVertices];
+        callStack = new int[numberOfVertices];
+        edgeCursors = new int[numberOfVertices];
+        pathEdges = new int[numberOfVertices];
+    }
+
+    public static int cancelAllCycles(WeightedGraph graph, CompactGraph compactGraph, boolean[] startVertices, Consumer<List<Vertex>> cycleCancelledListener) {
+        CycleCanceller canceller = new CycleCanceller(graph, compactGraph, cycleCancelledListener);
+        int[] rootVertices = new int[compactGraph.getNumberOfVertices()];
+        int numberOfRootVertices = 0;
+        for (int vertex = 0; vertex < rootVertices.length; vertex++) {
+            if (startVertices[vertex]) {
+                rootVertices[numberOfRootVertices++] = vertex;
+            }
+        }
+        canceller.cancelCyclesInComponentsReachableFrom(rootVertices, numberOfRootVertices);
+        return canceller.numberOfCancelledCycles;
+    }
+
+    private void cancelCyclesInComponentsReachableFrom(int[] rootVertices, int numberOfRootVertices) {
+        componentStamp++;
+        for (int vertex = 0; vertex < componentStamps.length; vertex++) {
+            componentStamps[vertex] = componentStamp;
+        }
+        Deque<int[]> components = new ArrayDeque<>();
+        findNonTrivialComponents(rootVertices, numberOfRootVertices, components);
+        while (!components.isEmpty()) {
+            int[] component = components.pop();
+            markComponent(component);
+            boolean cancelledAnyCycle = false;
+            for (int vertex : component) {
+                cancelledAnyCycle |= cancelCycleThroughVertex(vertex);
+            }
+            if (cancelledAnyCycle) {
+                findNonTrivialComponents(component, component.length, components);
+            }
+        }
+    }
+
+    private void markComponent(int[] component) {
+        componentStamp++;
+        for (int vertex : component) {
+            componentStamps[vertex] = componentStamp;
+        }
+    }
+
+    private boolean isInComponent(int vertex) {
+        return componentStamps[vertex] == componentStamp;
+    }
+
+    private boolean cancelCycleThroughVertex(int startVertex) {
+        visitStamp++;
+        visitStamps[startVertex] = visitStamp;
+        callStack[0] = startVertex;
+        edgeCursors[0] = compactGraph.getEdgesBegin(startVertex);
+        int depth = 0;
+        while (depth >= 0) {
+            int currentVertex = callStack[depth];
+            int edge = edgeCursors[depth]++;
+            if (edge >= compactGraph.getEdgesEnd(currentVertex)) {
+                depth--;
+                continue;
+            }
+            int nextVertex = compactGraph.getTarget(edge);
+            if (removedEdges[edge] || !isInComponent(nextVertex)) {
+                continue;
+            }
+            pathEdges[depth] = edge;
+            if (nextVertex == startVertex) {
+                cancelCycle(depth + 1);
+                return true;
+            }
+            if (visitStamps[nextVertex] != visitStamp) {
+                visitStamps[nextVertex] = visitStamp;
+                depth++;
+                callStack[depth] = nextVertex;
+                edgeCursors[depth] = compactGraph.getEdgesBegin(nextVertex);
+            }
+        }
+        return false;
+    }
+
+    private void cancelCycle(int cycleLength) {
+        List<WeightedEdge> cycleEdges = compactGraph.getEdges(pathEdges, cycleLength);
+        graph.reduceEdgeWeights(cycleEdges, GraphUtilities.getSmallestWeight(cycleEdges));
+        graph.deleteEdgesWithZeroWeight(cycleEdges);
+        for (int pathIndex = 0; pathIndex < cycleLength; pathIndex++) {
+            if (compactGraph.getEdge(pathEdges[pathIndex]).getWeight() == 0) {
+                removedEdges[pathEdges[pathIndex]] = true;
+            }
+        }
+        numberOfCancelledCycles++;
+        cycleCancelledListener.accept(compactGraph.getVertices(callStack, cycleLength));
+    }
+
+    private void findNonTrivialComponents(int[] rootVertices, int numberOfRootVertices, Deque<int[]> components) {
+        visitStamp++;
+        int index = 0;
+        int tarjanStackSize = 0;
+        for (int rootIndex = 0; rootIndex < numberOfRootVertices; rootIndex++) {
+            int rootVertex = rootVertices[rootIndex];
+            if (visitStamps[rootVertex] == visitStamp) {
+                continue;
+            }
+            int depth = 0;
+            callStack[0] = rootVertex;
+            edgeCursors[0] = compactGraph.getEdgesBegin(rootVertex);
+            visitStamps[rootVertex] = visitStamp;
+            indices[rootVertex] = lowLinks[rootVertex] = index++;
+            tarjanStack[tarjanStackSize++] = rootVertex;
+            onTarjanStack[rootVertex] = true;
+            while (depth >= 0) {
+                int currentVertex = callStack[depth];
+                int edge = edgeCursors[depth]++;
+                if (edge < compactGraph.getEdgesEnd(currentVertex)) {
+                    int nextVertex = compactGraph.getTarget(edge);
+                    if (removedEdges[edge] || !isInComponent(nextVertex)) {
+                        continue;
+                    }
+                    if (visitStamps[nextVertex] != visitStamp) {
+                        visitStamps[nextVertex] = visitStamp;
+                        indices[nextVertex] = lowLinks[nextVertex] = index++;
+                        tarjanStack[tarjanStackSize++] = nextVertex;
+                        onTarjanStack[nextVertex] = true;
+                        depth++;
+                        callStack[depth] = nextVertex;
+                        edgeCursors[depth] = compactGraph.getEdgesBegin(nextVertex);
+                    } else if (onTarjanStack[nextVertex]) {
+                        lowLinks[currentVertex] = Math.min(lowLinks[currentVertex], indices[nextVertex]);
+                    }
+                    continue;
+                }
+                if (lowLinks[currentVertex] == indices[currentVertex]) {
+                    int componentStart = tarjanStackSize;
+                    do {
+                        componentStart--;
+                        onTarjanStack[tarjanStack[componentStart]] = false;
+                    } while (tarjanStack[componentStart] != currentVertex);
+                    if (tarjanStackSize - componentStart > 1) {
+                        int[] component = new int[tarjanStackSize - componentStart];
+                        System.arraycopy(tarjanStack, componentStart, component, 0, component.length);
+                        components.push(component);
+                    }
+                    tarjanStackSize = componentStart;
+                }
+                depth--;
+                if (depth >= 0) {
+                    int parentVertex = callStack[depth];
+                    lowLinks[parentVertex] = Math.min(lowLinks[parentVertex], lowLinks[currentVertex]);
+                }
+            }
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package de.klosebrothers.algorithm;
 
+import de.klosebrothers.graph.CompactGraph;
+import de.klosebrothers.graph.TraversalKernel;
 import de.klosebrothers.graph.Vertex;
+import de.klosebrothers.graph.WeightedEdge;
 import de.klosebrothers.graph.WeightedGraph;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Stack;
-import java.util.function.Predicate;
+import java.util.Set;
 
 public class CycleDetector {
 
@@ -13,34 +20,70 @@ public class CycleDetector {
     }
 
     public static List<Vertex> getCycle(WeightedGraph weightedGraph) {
-        for (Vertex vertex : weightedGraph.getVertices()) {
-            List<Vertex> cycle = getSmallestCycleContainingVertex(vertex);
-            if (!cycle.isEmpty()) {
-                return cycle;
+        return getCycle(CompactGraph.of(weightedGraph));
+    }
+
+    public static List<Vertex> getSmallestCycleContainingVertex(Vertex vertex) {
+        Set<Vertex> visited = new HashSet<>();
+        Deque<Vertex> potentialCycle = new ArrayDeque<>();
+        Deque<Iterator<WeightedEdge>> outEdgeIterators = new ArrayDeque<>();
+        visited.add(vertex);
+        potentialCycle.addLast(vertex);
+        outEdgeIterators.push(vertex.getOutEdges().values().iterator());
+        while (!outEdgeIterators.isEmpty()) {
+            if (!outEdgeIterators.peek().hasNext()) {
+                outEdgeIterators.pop();
+                potentialCycle.removeLast();
+                continue;
+            }
+            Vertex nextVertex = outEdgeIterators.peek().next().getDestination();
+            if (visited.add(nextVertex)) {
+                potentialCycle.addLast(nextVertex);
+                if (nextVertex.getOutEdgeToVertex(vertex).isPresent()) {
+                    return new ArrayList<>(potentialCycle);
+                }
+                outEdgeIterators.push(nextVertex.getOutEdges().values().iterator());
             }
         }
         return new ArrayList<>();
     }
 
-    public static List<Vertex> getSmallestCycleContainingVertex(Vertex vertex) {
-        List<Vertex> visited = new ArrayList<>();
-        Stack<Vertex> potentialCycle = new Stack<>();
-        processVertexForCyclesSearch(vertex, vertex, visited, potentialCycle);
-        return potentialCycle.stream().toList();
+    public static List<Vertex> getCycle(CompactGraph graph) {
+        boolean[] startVertices = new boolean[graph.getNumberOfVertices()];
+        Arrays.fill(startVertices, true);
+        return getCycle(graph, startVertices);
     }
 
-    private static boolean processVertexForCyclesSearch(Vertex startVertex, Vertex currentVertex, List<Vertex> visited, Stack<Vertex> potentialCycle) {
-        visited.add(currentVertex);
-        potentialCycle.push(currentVertex);
-        if (currentVertex.getOutVertices().contains(startVertex) && potentialCycle.size() > 1) {
-            return true;
+    public static List<Vertex> getCycle(CompactGraph graph, boolean[] startVertices) {
+        TraversalKernel kernel = graph.getTraversalKernel();
+        for (int vertex = 0; vertex < graph.getNumberOfVertices(); vertex++) {
+            if (startVertices[vertex] && findCycleContainingVertex(graph, kernel, vertex)) {
+                return graph.getVertices(kernel.getVertexStack(), kernel.size());
+            }
         }
-        if (currentVertex.getOutVertices().stream()
-                .filter(Predicate.not(visited::contains)).toList().stream()
-                .anyMatch(nextVertex -> processVertexForCyclesSearch(startVertex, nextVertex, visited, potentialCycle))) {
-            return true;
+        return new ArrayList<>();
+    }
+
+    private static boolean findCycleContainingVertex(CompactGraph graph, TraversalKernel kernel, int startVertex) {
+        kernel.startTraversal();
+        kernel.markVisited(startVertex);
+        kernel.push(startVertex);
+        while (!kernel.isEmpty()) {
+            int edge = kernel.nextEdge();
+            if (edge < 0) {
+                kernel.pop();
+                continue;
+            }
+            int nextVertex = graph.getTarget(edge);
+            if (kernel.isVisited(nextVertex)) {
+                continue;
+            }
+            kernel.markVisited(nextVertex);
+            kernel.push(nextVertex);
+            if (graph.hasEdge(nextVertex, startVertex)) {
+                return true;
+            }
         }
-        potentialCycle.pop();
         return false;
     }
 }
@@ -0,0 +1,174 @@
+package de.klosebrothers.algorithm;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+public class ExactSettler {
+
+    public static final int MAXIMUM_NUMBER_OF_OPEN_BALANCES = 25;
+    private static final int LOW_BITS = 12;
+
+    private ExactSettler() {
+    }
+
+    public static List<Transfer> settle(long[] balances) {
+        return trySettle(balances).orElseThrow(() -> new IllegalArgumentException("Exact settlement supports at most "
+                + MAXIMUM_NUMBER_OF_OPEN_BALANCES + " open balances after settling opposite balances"));
+    }
+
+    public static Optional<List<Transfer>> trySettle(long[] balances) {
+        if (Arrays.stream(balances).sum() != 0) {
+            throw new IllegalArgumentException("Balances do not sum up to zero");
+        }
+        long[] remainingBalances = balances.clone();
+        List<Transfer> transfers = new ArrayList<>();
+        int[] openBalances = settleOppositeBalances(remainingBalances, transfers);
+        if (openBalances.length > MAXIMUM_NUMBER_OF_OPEN_BALANCES) {
+            return Optional.empty();
+        }
+        for (int[] group : getMaximumZeroSumPartition(remainingBalances, openBalances)) {
+            settleGroup(remainingBalances, group, transfers);
+        }
+        return Optional.of(transfers);
+    }
+
+    private static int[] settleOppositeBalances(long[] balances, List<Transfer> transfers) {
+        Map<Long, Deque<Integer>> unmatchedParticipantsByBalance = new HashMap<>();
+        List<Integer> openParticipants = new ArrayList<>();
+        for (int participant = 0; participant < balances.length; participant++) {
+            if (balances[participant] == 0) {
+                continue;
+            }
+            Deque<Integer> oppositeParticipants = unmatchedParticipantsByBalance.get(-balances[participant]);
+            if (oppositeParticipants == null || oppositeParticipants.isEmpty()) {
+                unmatchedParticipantsByBalance.computeIfAbsent(balances[participant], balance -> new ArrayDeque<>()).add(participant);
+                continue;
+            }
+            addTransfer(balances, participant, oppositeParticipants.poll(), Math.abs(balances[participant]), transfers);
+        }
+        unmatchedParticipantsByBalance.values().forEach(openParticipants::addAll);
+        return openParticipants.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    private static List<int[]> getMaximumZeroSumPartition(long[] balances, int[] participants) {
+        int numberOfParticipants = participants.length;
+        if (numberOfParticipants == 0) {
+            return new ArrayList<>();
+        }
+        int lowBits = Math.min(numberOfParticipants, LOW_BITS);
+        int highBits = numberOfParticipants - lowBits;
+        long[] lowSums = getSubsetSums(balances, participants, 0, lowBits);
+        long[] highSums = getSubsetSums(balances, participants, lowBits, highBits);
+        int[][] lowMasksByBitCount = getMasksByBitCount(lowBits);
+        byte[] groupCounts = new byte[1 << numberOfParticipants];
+        for (int bitCount = 1; bitCount <= numberOfParticipants; bitCount++) {
+            int layer = bitCount;
+            IntStream highMasks = IntStream.range(0, 1 << highBits);
+            if (highBits > 0) {
+                highMasks = highMasks.parallel();
+            }
+            highMasks.forEach(highMask -> {
+                int lowBitCount = layer - Integer.bitCount(highMask);
+                if (lowBitCount < 0 || lowBitCount > lowBits) {
+                    return;
+                }
+                for (int lowMask : lowMasksByBitCount[lowBitCount]) {
+                    int mask = highMask << lowBits | lowMask;
+                    groupCounts[mask] = getGroupCount(groupCounts, mask, lowSums[lowMask] + highSums[highMask] == 0);
+                }
+            });
+        }
+        return reconstructPartition(groupCounts, lowSums, highSums, participants, lowBits);
+    }
+
+    private static byte getGroupCount(byte[] groupCounts, int mask, boolean isZeroSum) {
+        int groupCount = 0;
+        for (int remainingBits = mask; remainingBits != 0; remainingBits &= remainingBits - 1) {
+            groupCount = Math.max(groupCount, groupCounts[mask ^ Integer.lowestOneBit(remainingBits)]);
+        }
+        return (byte) (isZeroSum ? groupCount + 1 : groupCount);
+    }
+
+    private static List<int[]> reconstructPartition(byte[] groupCounts, long[] lowSums, long[] highSums, int[] participants, int lowBits) {
+        int lowMaskBits = (1 << lowBits) - 1;
+        List<int[]> groups = new ArrayList<>();
+        List<Integer> currentGroup = new ArrayList<>();
+        int mask = (1 << participants.length) - 1;
+        while (mask != 0) {
+            int nextMask = 0;
+            int removedBit = 0;
+            boolean isZeroSum = lowSums[mask & lowMaskBits] + highSums[mask >>> lowBits] == 0;
+            for (int remainingBits = mask; remainingBits != 0; remainingBits &= remainingBits - 1) {
+                removedBit = Integer.numberOfTrailingZeros(remainingBits);
+                nextMask = mask ^ (1 << removedBit);
+                if (groupCounts[nextMask] + (isZeroSum ? 1 : 0) == groupCounts[mask]) {
+                    break;
+                }
+            }
+            currentGroup.add(participants[removedBit]);
+            mask = nextMask;
+            if (lowSums[mask & lowMaskBits] + highSums[mask >>> lowBits] == 0) {
+                groups.add(currentGroup.stream().mapToInt(Integer::intValue).toArray());
+                currentGroup.clear();
+            }
+        }
+        return groups;
+    }
+
+    private static long[] getSubsetSums(long[] balances, int[] participants, int firstParticipant, int numberOfParticipants) {
+        long[] subsetSums = new long[1 << numberOfParticipants];
+        for (int mask = 1; mask < subsetSums.length; mask++) {
+            int lowestBit = Integer.numberOfTrailingZeros(mask);
+            subsetSums[mask] = subsetSums[mask & (mask - 1)] + balances[participants[firstParticipant + lowestBit]];
+        }
+        return subsetSums;
+    }
+
+    private static int[][] getMasksByBitCount(int numberOfBits) {
+        int[][] masksByBitCount = new int[numberOfBits + 1][];
+        for (int bitCount = 0; bitCount <= numberOfBits; bitCount++) {
+            int layer = bitCount;
+            masksByBitCount[bitCount] = IntStream.range(0, 1 << numberOfBits).filter(mask -> Integer.bitCount(mask) == layer).toArray();
+        }
+        return masksByBitCount;
+    }
+
+    private static void settleGroup(long[] balances, int[] group, List<Transfer> transfers) {
+        long[] remainingBalances = new long[group.length];
+        for (int member = 0; member < group.length; member++) {
+            remainingBalances[member] = balances[group[member]];
+        }
+        int creditor = 0;
+        int debtor = 0;
+        while (true) {
+            while (creditor < group.length && remainingBalances[creditor] >= 0) {
+                creditor++;
+            }
+            while (debtor < group.length && remainingBalances[debtor] <= 0) {
+                debtor++;
+            }
+            if (creditor == group.length || debtor == group.length) {
+                return;
+            }
+            long amount = Math.min(-remainingBalances[creditor], remainingBalances[debtor]);
+            transfers.add(new Transfer(group[creditor], group[debtor], amount));
+            remainingBalances[creditor] += amount;
+            remainingBalances[debtor] -= amount;
+        }
+    }
+
+    private static void addTransfer(long[] balances, int firstParticipant, int secondParticipant, long amount, List<Transfer> transfers) {
+        if (balances[firstParticipant] < 0) {
+            transfers.add(new Transfer(firstParticipant, secondParticipant, amount));
+        } else {
+            transfers.add(new Transfer(secondParticipant, firstParticipant, amount));
+        }
+    }
+}
@@ -2,8 +2,12 @@ package de.klosebrothers.algorithm;
 
 import de.klosebrothers.graph.Vertex;
 import de.klosebrothers.graph.WeightedEdge;
+import de.klosebrothers.graph.WeightedGraph;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,6 +41,60 @@ public class GraphUtilities {
         return chainEdges;
     }
 
+    public static boolean[] getVerticesReachingAny(WeightedGraph graph, Collection<Vertex> targetVertices) {
+        boolean[] reachingVertices = new boolean[graph.getNumberOfVertices()];
+        Deque<Vertex> verticesToVisit = new ArrayDeque<>(targetVertices);
+        targetVertices.forEach(vertex -> reachingVertices[vertex.getId()] = true);
+        while (!verticesToVisit.isEmpty()) {
+            for (Vertex previousVertex : verticesToVisit.poll().getInEdges().keySet()) {
+                if (!reachingVertices[previousVertex.getId()]) {
+                    reachingVertices[previousVertex.getId()] = true;
+                    verticesToVisit.add(previousVertex);
+                }
+            }
+        }
+        return reachingVertices;
+    }
+
+    public static List<List<Vertex>> getWeaklyConnectedComponents(WeightedGraph graph) {
+        List<List<Vertex>> components = new ArrayList<>();
+        boolean[] visitedVertices = new boolean[graph.getNumberOfVertices()];
+        Deque<Vertex> verticesToVisit = new ArrayDeque<>();
+        for (Vertex startVertex : graph.getVertices()) {
+            if (visitedVertices[startVertex.getId()]) {
+                continue;
+            }
+            List<Vertex> component = new ArrayList<>();
+            visitedVertices[startVertex.getId()] = true;
+            verticesToVisit.add(startVertex);
+            while (!verticesToVisit.isEmpty()) {
+                Vertex vertex = verticesToVisit.poll();
+                component.add(vertex);
+                for (Vertex neighbourVertex : getNeighbourVertices(vertex)) {
+                    if (!visitedVertices[neighbourVertex.getId()]) {
+                        visitedVertices[neighbourVertex.getId()] = true;
+                        verticesToVisit.add(neighbourVertex);
+                    }
+                }
+            }
+            component.sort(Comparator.comparingInt(Vertex::getId));
+            components.add(component);
+        }
+        return components;
+    }
+
+    private static List<Vertex> getNeighbourVertices(Vertex vertex) {
+        List<Vertex> neighbourVertices = new ArrayList<>(vertex.getOutEdges().keySet());
+        neighbourVertices.addAll(vertex.getInEdges().keySet());
+        return neighbourVertices;
+    }
+
+    public static boolean[] getVertexMask(WeightedGraph graph, Collection<Vertex> vertices) {
+        boolean[] vertexMask = new boolean[graph.getNumberOfVertices()];
+        vertices.forEach(vertex -> vertexMask[vertex.getId()] = true);
+        return vertexMask;
+    }
+
     public static double getSmallestWeight(List<WeightedEdge> edges) {
         return edges.stream().map(WeightedEdge::getWeight).min(Comparator.naturalOrder()).orElse(0.0);
     }
@@ -0,0 +1,45 @@
+package de.klosebrothers.algorithm;
+
+import de.klosebrothers.graph.Vertex;
+import de.klosebrothers.graph.WeightedGraph;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+public class GreedySettler {
+
+    private static final double SETTLED_BALANCE = 1e-9;
+
+    private GreedySettler() {
+    }
+
+    public static void settle(WeightedGraph graph) {
+        List<Vertex> vertices = graph.getVertices();
+        double[] balances = new double[vertices.size()];
+        PriorityQueue<Integer> creditors = new PriorityQueue<>(vertices.size(), Comparator.comparingDouble(vertex -> balances[vertex]));
+        PriorityQueue<Integer> debtors = new PriorityQueue<>(vertices.size(), Comparator.comparingDouble(vertex -> -balances[vertex]));
+        for (int vertex = 0; vertex < vertices.size(); vertex++) {
+            balances[vertex] = vertices.get(vertex).getInflux();
+            addIfUnsettled(vertex, balances, creditors, debtors);
+        }
+        graph.removeAllEdges();
+        while (!creditors.isEmpty() && !debtors.isEmpty()) {
+            int creditor = creditors.poll();
+            int debtor = debtors.poll();
+            double amount = Math.min(-balances[creditor], balances[debtor]);
+            graph.addEdge(vertices.get(creditor), vertices.get(debtor), amount);
+            balances[creditor] += amount;
+            balances[debtor] -= amount;
+            addIfUnsettled(creditor, balances, creditors, debtors);
+            addIfUnsettled(debtor, balances, creditors, debtors);
+        }
+    }
+
+    private static void addIfUnsettled(int vertex, double[] balances, PriorityQueue<Integer> creditors, PriorityQueue<Integer> debtors) {
+        if (balances[vertex] < -SETTLED_BALANCE) {
+            creditors.add(vertex);
+        } else if (balances[vertex] > SETTLED_BALANCE) {
+            debtors.add(vertex);
+        }
+    }
+}
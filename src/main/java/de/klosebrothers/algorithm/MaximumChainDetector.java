@@ -1,58 +1,69 @@
 package de.klosebrothers.algorithm;
 
+import de.klosebrothers.graph.CompactGraph;
+import de.klosebrothers.graph.TraversalKernel;
 import de.klosebrothers.graph.WeightedEdge;
 import de.klosebrothers.graph.WeightedGraph;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Predicate;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
 
 public class MaximumChainDetector {
 
+    private static final ThreadLocal<ChainScratch> WORKER_SCRATCH = ThreadLocal.withInitial(ChainScratch::new);
+
     private MaximumChainDetector() {
     }
 
     public static Optional<List<WeightedEdge>> getMaximumChain(WeightedGraph graph) {
-        List<List<WeightedEdge>> chains = graph.getVertices().stream()
-                .flatMap(vertex -> vertex.getOutEdges().values().stream())
-                .map(MaximumChainDetector::getMaximumChainFromStartEdge)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .toList();
-        Long highestCountOfEqualWeight = chains.stream()
-                .map(chain -> getNumberOfEdgesWithWeight(chain, chain.get(0).getWeight()))
-                .max(Comparator.naturalOrder())
-                .orElse(0L);
-        return chains.stream().filter(chain -> getNumberOfEdgesWithWeight(chain, chain.get(0)
-                .getWeight()) == highestCountOfEqualWeight).findFirst();
+        return getMaximumChain(CompactGraph.of(graph));
     }
 
     public static Optional<List<WeightedEdge>> getMaximumChainFromStartEdge(WeightedEdge edge) {
         double weightToFind = edge.getWeight();
-        List<WeightedEdge> edgePath = List.of(edge);
-        List<List<WeightedEdge>> edgePaths = new ArrayList<>();
-        edgePaths.add(edgePath);
-        addAllEdgesToPathsRecursively(edge, edgePaths, edgePath);
-        edgePaths.forEach(edges -> removeTrailingEdgesNotHavingWeight(edges, weightToFind));
-        return getEdgePathContainingMostEdgesWithCertainWeightAndLeastOther(edgePaths, weightToFind);
-    }
-
-    private static void addAllEdgesToPathsRecursively(WeightedEdge edge, List<List<WeightedEdge>> edgePaths, List<WeightedEdge> edgePath) {
-        edge.getDestination().getOutEdges().values().stream()
-                .filter(Predicate.not(edgePath::contains))
-                .forEach(nextEdge -> {
-                    List<WeightedEdge> nextEdgePath = new ArrayList<>(List.copyOf(edgePath));
-                    nextEdgePath.add(nextEdge);
-                    edgePaths.add(nextEdgePath);
-                    addAllEdgesToPathsRecursively(nextEdge, edgePaths, nextEdgePath);
-                });
-    }
-
-    private static void removeTrailingEdgesNotHavingWeight(List<WeightedEdge> edges, double weight) {
-        while (edges.get(edges.size() - 1).getWeight() != weight) {
-            edges.remove(edges.size() - 1);
+        List<WeightedEdge> edgePath = new ArrayList<>(List.of(edge));
+        Set<WeightedEdge> edgesOnPath = new HashSet<>(edgePath);
+        Deque<Iterator<WeightedEdge>> nextEdges = new ArrayDeque<>();
+        nextEdges.push(edge.getDestination().getOutEdges().values().iterator());
+        List<WeightedEdge> bestEdgePath = List.of();
+        long bestCount = 0;
+        long countOfWeight = 1;
+        while (!nextEdges.isEmpty()) {
+            if (!nextEdges.peek().hasNext()) {
+                nextEdges.pop();
+                WeightedEdge removedEdge = edgePath.remove(edgePath.size() - 1);
+                edgesOnPath.remove(removedEdge);
+                if (removedEdge.getWeight() == weightToFind) {
+                    countOfWeight--;
+                }
+                continue;
+            }
+            WeightedEdge nextEdge = nextEdges.peek().next();
+            if (!edgesOnPath.add(nextEdge)) {
+                continue;
+            }
+            edgePath.add(nextEdge);
+            if (nextEdge.getWeight() == weightToFind) {
+                countOfWeight++;
+                if (countOfWeight > bestCount || (countOfWeight == bestCount && edgePath.size() < bestEdgePath.size())) {
+                    bestCount = countOfWeight;
+                    bestEdgePath = List.copyOf(edgePath);
+                }
+            }
+            nextEdges.push(nextEdge.getDestination().getOutEdges().values().iterator());
         }
+        return bestEdgePath.isEmpty() ? Optional.empty() : Optional.of(new ArrayList<>(bestEdgePath));
     }
 
     public static Optional<List<WeightedEdge>> getEdgePathContainingMostEdgesWithCertainWeightAndLeastOther(List<List<WeightedEdge>> edgePaths, double weight) {
@@ -73,4 +84,417 @@ public class MaximumChainDetector {
     private static long getNumberOfEdgesWithWeight(List<WeightedEdge> edges, double weight) {
         return edges.stream().filter(edge -> edge.getWeight() == weight).count();
     }
+
+    public static Optional<List<WeightedEdge>> getMaximumChain(CompactGraph graph) {
+        boolean[] startVertices = new boolean[graph.getNumberOfVertices()];
+        Arrays.fill(startVertices, true);
+        return getMaximumChain(graph, startVertices);
+    }
+
+    public static Optional<List<WeightedEdge>> getMaximumChain(CompactGraph graph, boolean[] startVertices) {
+        return getMaximumChain(graph, startVertices, ChainSearchBudget.UNLIMITED);
+    }
+
+    public static Optional<List<WeightedEdge>> getMaximumChain(CompactGraph graph, boolean[] startVertices, ChainSearchBudget budget) {
+        return searchMaximumChain(graph, startVertices, budget, null).chain();
+    }
+
+    public static Optional<List<WeightedEdge>> getMaximumChain(CompactGraph graph, boolean[] startVertices, ChainSearchBudget budget, ForkJoinPool pool) {
+        return searchMaximumChain(graph, startVertices, budget, pool).chain();
+    }
+
+    public static ChainSearchResult searchMaximumChain(CompactGraph graph, boolean[] startVertices, ChainSearchBudget budget, ForkJoinPool pool) {
+        return new ChainSearch(graph, startVertices, budget, pool).getMaximumChain();
+    }
+
+    private record ChainCandidate(int startEdge, int count, int[] edgePath) {
+    }
+
+    private interface ChainSearchItem {
+        ChainCandidate search(ChainSearch.ChainWorker worker, int item);
+    }
+
+    private static class ChainScratch {
+        private CompactGraph graph;
+        private TraversalKernel kernel;
+        private int[] chainCounts;
+        private int[] chainLengths;
+        private int[] nextEdges;
+        private boolean[] onEdgePath;
+        private int[] edgePath;
+        private int[] edgeCursors;
+        private int[] countsOfWeight;
+        private int[] trimmedLengths;
+        private int[] bestEdgePath;
+
+        ChainScratch() {
+            chainCounts = new int[0];
+            chainLengths = new int[0];
+            nextEdges = new int[0];
+            onEdgePath = new boolean[0];
+            edgePath = new int[0];
+            edgeCursors = new int[0];
+            countsOfWeight = new int[0];
+            trimmedLengths = new int[0];
+            bestEdgePath = new int[0];
+        }
+
+        ChainScratch(CompactGraph graph, TraversalKernel kernel) {
+            this();
+            this.graph = graph;
+            this.kernel = kernel;
+        }
+
+        void prepare(CompactGraph searchedGraph) {
+            if (graph != searchedGraph) {
+                graph = searchedGraph;
+                kernel = new TraversalKernel(searchedGraph);
+            }
+            int numberOfVertices = searchedGraph.getNumberOfVertices();
+            kernel.ensureCapacity(numberOfVertices);
+            if (chainCounts.length < numberOfVertices) {
+                chainCounts = new int[numberOfVertices];
+                chainLengths = new int[numberOfVertices];
+                nextEdges = new int[numberOfVertices];
+            }
+        }
+
+        void release() {
+            graph = null;
+            kernel = null;
+        }
+
+        void prepareEdgePathSearch() {
+            int numberOfEdges = graph.getNumberOfEdges();
+            if (edgePath.length < numberOfEdges) {
+                onEdgePath = new boolean[numberOfEdges];
+                edgePath = new int[numberOfEdges];
+                edgeCursors = new int[numberOfEdges];
+                countsOfWeight = new int[numberOfEdges];
+                trimmedLengths = new int[numberOfEdges];
+                bestEdgePath = new int[numberOfEdges];
+            }
+        }
+    }
+
+    private static class ChainSearch {
+        private final CompactGraph graph;
+        private final boolean[] startVertices;
+        private final ChainSearchBudget budget;
+        private final ForkJoinPool pool;
+        private final int[] edgesByWeight;
+        private final long startNanos;
+        private final AtomicLong expandedNodes;
+        private volatile boolean cyclic;
+        private volatile boolean exhausted;
+
+        ChainSearch(CompactGraph graph, boolean[] startVertices, ChainSearchBudget budget, ForkJoinPool pool) {
+            this.graph = graph;
+            this.startVertices = startVertices;
+            this.budget = budget;
+            this.pool = pool;
+            edgesByWeight = graph.getEdgesByWeight();
+            startNanos = System.nanoTime();
+            expandedNodes = new AtomicLong();
+        }
+
+        ChainSearchResult getMaximumChain() {
+            int[] weightGroups = getWeightGroupsWithChains();
+            ChainCandidate maximumChain = search(weightGroups.length, (worker, item) -> worker.getMaximumChainOfWeightGroup(weightGroups[item]));
+            if (cyclic) {
+                int[] startEdges = IntStream.range(0, graph.getNumberOfEdges())
+                        .filter(edge -> startVertices[graph.getSource(edge)] && graph.getWeightGroupSize(edge) >= 2)
+                        .toArray();
+                maximumChain = search(startEdges.length, (worker, item) -> worker.getMaximumChainFromStartEdge(startEdges[item]));
+            }
+            Optional<List<WeightedEdge>> chain = Optional.ofNullable(maximumChain)
+                    .map(candidate -> graph.getEdges(candidate.edgePath(), candidate.edgePath().length));
+            return new ChainSearchResult(chain, exhausted);
+        }
+
+        private int[] getWeightGroupsWithChains() {
+            int numberOfWeightGroups = 0;
+            for (int groupStart = 0; groupStart < edgesByWeight.length; groupStart += graph.getWeightGroupSize(edgesByWeight[groupStart])) {
+                if (graph.getWeightGroupSize(edgesByWeight[groupStart]) >= 2) {
+                    numberOfWeightGroups++;
+                }
+            }
+            int[] weightGroups = new int[numberOfWeightGroups];
+            int weightGroup = 0;
+            for (int groupStart = 0; groupStart < edgesByWeight.length; groupStart += graph.getWeightGroupSize(edgesByWeight[groupStart])) {
+                if (graph.getWeightGroupSize(edgesByWeight[groupStart]) >= 2) {
+                    weightGroups[weightGroup++] = groupStart;
+                }
+            }
+            return weightGroups;
+        }
+
+        private ChainCandidate search(int numberOfItems, ChainSearchItem searchItem) {
+            if (pool == null) {
+                ChainScratch scratch = new ChainScratch(graph, graph.getTraversalKernel());
+                scratch.prepare(graph);
+                return searchItems(new ChainWorker(scratch), searchItem, 0, numberOfItems);
+            }
+            int threshold = Math.max(1, numberOfItems / (4 * pool.getParallelism()));
+            return pool.invoke(new ChainSearchTask(searchItem, 0, numberOfItems, threshold));
+        }
+
+        private ChainCandidate searchItems(ChainWorker worker, ChainSearchItem searchItem, int from, int to) {
+            ChainCandidate maximumChain = null;
+            for (int item = from; item < to; item++) {
+                maximumChain = getLongerChain(maximumChain, searchItem.search(worker, item));
+            }
+            return maximumChain;
+        }
+
+        private static ChainCandidate getLongerChain(ChainCandidate first, ChainCandidate second) {
+            if (first == null || second == null) {
+                return first == null ? second : first;
+            }
+            if (first.count() != second.count()) {
+                return first.count() > second.count() ? first : second;
+            }
+            return first.startEdge() < second.startEdge() ? first : second;
+        }
+
+        private class ChainSearchTask extends RecursiveTask<ChainCandidate> {
+            private final ChainSearchItem searchItem;
+            private final int from;
+            private final int to;
+            private final int threshold;
+
+            ChainSearchTask(ChainSearchItem searchItem, int from, int to, int threshold) {
+                this.searchItem = searchItem;
+                this.from = from;
+                this.to = to;
+                this.threshold = threshold;
+            }
+
+            @Override
+            protected ChainCandidate compute() {
+                if (to - from <= threshold) {
+                    ChainScratch scratch = WORKER_SCRATCH.get();
+                    scratch.prepare(graph);
+                    try {
+                        return searchItems(new ChainWorker(scratch), searchItem, from, to);
+                    } finally {
+                        scratch.release();
+                    }
+                }
+                int middle = (from + to) >>> 1;
+                ChainSearchTask firstHalf = new ChainSearchTask(searchItem, from, middle, threshold);
+                firstHalf.fork();
+                ChainCandidate secondHalfChain = new ChainSearchTask(searchItem, middle, to, threshold).compute();
+                return getLongerChain(firstHalf.join(), secondHalfChain);
+            }
+        }
+
+        private class ChainWorker {
+            private final ChainScratch scratch;
+            private final TraversalKernel kernel;
+            private final int[] chainCounts;
+            private final int[] chainLengths;
+            private final int[] nextEdges;
+            private EdgePathSearch edgePathSearch;
+            private long expandedNodes;
+
+            ChainWorker(ChainScratch scratch) {
+                this.scratch = scratch;
+                kernel = scratch.kernel;
+                chainCounts = scratch.chainCounts;
+                chainLengths = scratch.chainLengths;
+                nextEdges = scratch.nextEdges;
+            }
+
+            ChainCandidate getMaximumChainOfWeightGroup(int groupStart) {
+                if (cyclic) {
+                    return null;
+                }
+                int groupEnd = groupStart + graph.getWeightGroupSize(edgesByWeight[groupStart]);
+                double weight = graph.getWeight(edgesByWeight[groupStart]);
+                if (!computeChains(weight, groupStart, groupEnd)) {
+                    cyclic = true;
+                    return null;
+                }
+                int maximumChainStartEdge = -1;
+                int highestCountOfEqualWeight = 1;
+                for (int index = groupStart; index < groupEnd; index++) {
+                    int edge = edgesByWeight[index];
+                    int count = 1 + chainCounts[graph.getTarget(edge)];
+                    if (startVertices[graph.getSource(edge)] && count > highestCountOfEqualWeight) {
+                        highestCountOfEqualWeight = count;
+                        maximumChainStartEdge = edge;
+                    }
+                }
+                if (maximumChainStartEdge < 0) {
+                    return null;
+                }
+                return new ChainCandidate(maximumChainStartEdge, highestCountOfEqualWeight, getChain(maximumChainStartEdge));
+            }
+
+            private boolean computeChains(double weight, int groupStart, int groupEnd) {
+                kernel.startTraversal();
+                kernel.clearTargets();
+                for (int index = groupStart; index < groupEnd; index++) {
+                    int edge = edgesByWeight[index];
+                    if (startVertices[graph.getSource(edge)] && !computeChainsFrom(graph.getTarget(edge), weight)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            private boolean computeChainsFrom(int rootVertex, double weight) {
+                if (kernel.isTarget(rootVertex)) {
+                    return true;
+                }
+                kernel.markVisited(rootVertex);
+                kernel.push(rootVertex);
+                while (!kernel.isEmpty()) {
+                    int edge = kernel.nextEdge();
+                    if (edge < 0) {
+                        int vertex = kernel.pop();
+                        kernel.markTarget(vertex);
+                        computeBestChainFrom(vertex, weight);
+                        continue;
+                    }
+                    int nextVertex = graph.getTarget(edge);
+                    if (kernel.isTarget(nextVertex)) {
+                        continue;
+                    }
+                    if (kernel.isVisited(nextVertex)) {
+                        return false;
+                    }
+                    kernel.markVisited(nextVertex);
+                    kernel.push(nextVertex);
+                }
+                return true;
+            }
+
+            private void computeBestChainFrom(int vertex, double weight) {
+                int bestCount = 0;
+                int bestLength = 0;
+                int bestEdge = -1;
+                for (int edge = graph.getEdgesBegin(vertex); edge < graph.getEdgesEnd(vertex); edge++) {
+                    int nextVertex = graph.getTarget(edge);
+                    int count = chainCounts[nextVertex];
+                    if (graph.getWeight(edge) == weight) {
+                        count++;
+                    } else if (count == 0) {
+                        continue;
+                    }
+                    int length = 1 + chainLengths[nextVertex];
+                    if (count > bestCount || (count == bestCount && length < bestLength)) {
+                        bestCount = count;
+                        bestLength = length;
+                        bestEdge = edge;
+                    }
+                }
+                chainCounts[vertex] = bestCount;
+                chainLengths[vertex] = bestLength;
+                nextEdges[vertex] = bestEdge;
+            }
+
+            private int[] getChain(int startEdge) {
+                int vertex = graph.getTarget(startEdge);
+                int[] chain = new int[1 + chainLengths[vertex]];
+                chain[0] = startEdge;
+                for (int index = 1; index < chain.length; index++) {
+                    chain[index] = nextEdges[vertex];
+                    vertex = graph.getTarget(nextEdges[vertex]);
+                }
+                return chain;
+            }
+
+            ChainCandidate getMaximumChainFromStartEdge(int startEdge) {
+                if (exhausted) {
+                    return null;
+                }
+                if (edgePathSearch == null) {
+                    edgePathSearch = new EdgePathSearch();
+                }
+                edgePathSearch.searchFromStartEdge(startEdge);
+                if (edgePathSearch.bestCount == 0) {
+                    return null;
+                }
+                return new ChainCandidate(startEdge, edgePathSearch.bestCount, Arrays.copyOf(edgePathSearch.bestEdgePath, edgePathSearch.bestLength));
+            }
+
+            private boolean isBudgetExhausted() {
+                if ((++expandedNodes & 1023) == 0) {
+                    long totalExpandedNodes = ChainSearch.this.expandedNodes.addAndGet(1024);
+                    if (totalExpandedNodes >= budget.maximumNumberOfNodes()
+                            || System.nanoTime() - startNanos > budget.maximumDuration().toNanos()) {
+                        exhausted = true;
+                    }
+                }
+                return exhausted;
+            }
+
+            private class EdgePathSearch {
+                private final boolean[] onEdgePath;
+                private final int[] edgePath;
+                private final int[] edgeCursors;
+                private final int[] countsOfWeight;
+                private final int[] trimmedLengths;
+                private final int[] bestEdgePath;
+                private int bestLength;
+                private int bestCount;
+
+                EdgePathSearch() {
+                    scratch.prepareEdgePathSearch();
+                    onEdgePath = scratch.onEdgePath;
+                    edgePath = scratch.edgePath;
+                    edgeCursors = scratch.edgeCursors;
+                    countsOfWeight = scratch.countsOfWeight;
+                    trimmedLengths = scratch.trimmedLengths;
+                    bestEdgePath = scratch.bestEdgePath;
+                }
+
+                void searchFromStartEdge(int startEdge) {
+                    double weightToFind = graph.getWeight(startEdge);
+                    bestLength = 0;
+                    bestCount = 0;
+                    int depth = 0;
+                    edgePath[0] = startEdge;
+                    onEdgePath[startEdge] = true;
+                    edgeCursors[0] = graph.getEdgesBegin(graph.getTarget(startEdge));
+                    countsOfWeight[0] = 1;
+                    trimmedLengths[0] = 1;
+                    while (depth >= 0) {
+                        int currentVertex = graph.getTarget(edgePath[depth]);
+                        int nextEdge = edgeCursors[depth]++;
+                        if (nextEdge >= graph.getEdgesEnd(currentVertex) || exhausted) {
+                            onEdgePath[edgePath[depth]] = false;
+                            depth--;
+                            continue;
+                        }
+                        if (onEdgePath[nextEdge] || isBudgetExhausted()) {
+                            continue;
+                        }
+                        depth++;
+                        edgePath[depth] = nextEdge;
+                        onEdgePath[nextEdge] = true;
+                        edgeCursors[depth] = graph.getEdgesBegin(graph.getTarget(nextEdge));
+                        if (graph.getWeight(nextEdge) == weightToFind) {
+                            countsOfWeight[depth] = countsOfWeight[depth - 1] + 1;
+                            trimmedLengths[depth] = depth + 1;
+                            updateBestEdgePath(depth);
+                        } else {
+                            countsOfWeight[depth] = countsOfWeight[depth - 1];
+                            trimmedLengths[depth] = trimmedLengths[depth - 1];
+                        }
+                    }
+                }
+
+                private void updateBestEdgePath(int depth) {
+                    if (countsOfWeight[depth] > bestCount || (countsOfWeight[depth] == bestCount && trimmedLengths[depth] < bestLength)) {
+                        bestCount = countsOfWeight[depth];
+                        bestLength = trimmedLengths[depth];
+                        System.arraycopy(edgePath, 0, bestEdgePath, 0, bestLength);
+                    }
+                }
+            }
+        }
+    }
 }
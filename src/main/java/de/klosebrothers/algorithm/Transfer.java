@@ -0,0 +1,4 @@
+package de.klosebrothers.algorithm;
+
+public record Transfer(int creditor, int debtor, long amount) {
+}
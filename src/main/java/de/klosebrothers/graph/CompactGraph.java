@@ -0,0 +1,187 @@
+package de.klosebrothers.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+@Getter
+public class CompactGraph {
+    private Vertex[] vertices;
+    private int[] offsets;
+    private int[] targets;
+    private double[] weights;
+    private WeightedEdge[] edges;
+    @Getter(AccessLevel.NONE)
+    private int[] sources;
+    @Getter(AccessLevel.NONE)
+    private int[] edgesByWeight;
+    @Getter(AccessLevel.NONE)
+    private int[] weightGroupSizes;
+    @Getter(AccessLevel.NONE)
+    private boolean weightOrderValid;
+    private int numberOfVertices;
+    private int numberOfEdges;
+    private final TraversalKernel traversalKernel;
+
+    public CompactGraph() {
+        traversalKernel = new TraversalKernel(this);
+        vertices = new Vertex[0];
+        offsets = new int[1];
+        targets = new int[0];
+        weights = new double[0];
+        edges = new WeightedEdge[0];
+        sources = new int[0];
+        edgesByWeight = new int[0];
+        weightGroupSizes = new int[0];
+    }
+
+    public static CompactGraph of(WeightedGraph graph) {
+        CompactGraph compactGraph = new CompactGraph();
+        compactGraph.rebuild(graph);
+        return compactGraph;
+    }
+
+    public void rebuild(WeightedGraph graph) {
+        List<Vertex> graphVertices = graph.getVertices();
+        numberOfVertices = graphVertices.size();
+        numberOfEdges = graphVertices.stream().mapToInt(vertex -> vertex.getOutEdges().size()).sum();
+        ensureCapacity(numberOfVertices, numberOfEdges);
+        traversalKernel.ensureCapacity(numberOfVertices);
+        int edgeIndex = 0;
+        for (int vertexIndex = 0; vertexIndex < numberOfVertices; vertexIndex++) {
+            Vertex vertex = graphVertices.get(vertexIndex);
+            vertices[vertexIndex] = vertex;
+            offsets[vertexIndex] = edgeIndex;
+            for (WeightedEdge edge : vertex.getOutEdges().values()) {
+                targets[edgeIndex] = edge.getDestination().getId();
+                weights[edgeIndex] = edge.getWeight();
+                edges[edgeIndex] = edge;
+                sources[edgeIndex] = vertexIndex;
+                edgeIndex++;
+            }
+        }
+        offsets[numberOfVertices] = edgeIndex;
+        Arrays.fill(vertices, numberOfVertices, vertices.length, null);
+        Arrays.fill(edges, numberOfEdges, edges.length, null);
+        weightOrderValid = false;
+    }
+
+    public int getEdgesBegin(int vertex) {
+        return offsets[vertex];
+    }
+
+    public int getEdgesEnd(int vertex) {
+        return offsets[vertex + 1];
+    }
+
+    public int getOutDegree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    public int getTarget(int edge) {
+        return targets[edge];
+    }
+
+    public double getWeight(int edge) {
+        return weights[edge];
+    }
+
+    public int getSource(int edge) {
+        return sources[edge];
+    }
+
+    public int[] getEdgesByWeight() {
+        ensureWeightOrder();
+        return edgesByWeight;
+    }
+
+    public int getWeightGroupSize(int edge) {
+        ensureWeightOrder();
+        return weightGroupSizes[edge];
+    }
+
+    public Vertex getVertex(int vertex) {
+        return vertices[vertex];
+    }
+
+    public WeightedEdge getEdge(int edge) {
+        return edges[edge];
+    }
+
+    public boolean hasEdge(int sourceVertex, int destinationVertex) {
+        for (int edge = offsets[sourceVertex]; edge < offsets[sourceVertex + 1]; edge++) {
+            if (targets[edge] == destinationVertex) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<Vertex> getVertices(int[] vertexIndices, int length) {
+        List<Vertex> result = new ArrayList<>(length);
+        for (int index = 0; index < length; index++) {
+            result.add(vertices[vertexIndices[index]]);
+        }
+        return result;
+    }
+
+    public List<WeightedEdge> getEdges(int[] edgeIndices, int length) {
+        List<WeightedEdge> result = new ArrayList<>(length);
+        for (int index = 0; index < length; index++) {
+            result.add(edges[edgeIndices[index]]);
+        }
+        return result;
+    }
+
+    private void ensureCapacity(int vertexCapacity, int edgeCapacity) {
+        if (vertices.length < vertexCapacity) {
+            vertices = new Vertex[vertexCapacity];
+            offsets = new int[vertexCapacity + 1];
+        }
+        if (targets.length < edgeCapacity) {
+            targets = new int[edgeCapacity];
+            weights = new double[edgeCapacity];
+            edges = new WeightedEdge[edgeCapacity];
+            sources = new int[edgeCapacity];
+        }
+    }
+
+    private void ensureWeightOrder() {
+        if (weightOrderValid) {
+            return;
+        }
+        if (edgesByWeight.length != numberOfEdges) {
+            edgesByWeight = new int[numberOfEdges];
+            weightGroupSizes = new int[numberOfEdges];
+        }
+        double[] sortedWeights = Arrays.copyOf(weights, numberOfEdges);
+        Arrays.sort(sortedWeights);
+        int[] groupFillCounts = new int[numberOfEdges];
+        for (int edge = 0; edge < numberOfEdges; edge++) {
+            int groupStart = getFirstIndexOfWeight(sortedWeights, weights[edge]);
+            edgesByWeight[groupStart + groupFillCounts[groupStart]++] = edge;
+        }
+        for (int groupStart = 0; groupStart < numberOfEdges; groupStart += groupFillCounts[groupStart]) {
+            for (int index = groupStart; index < groupStart + groupFillCounts[groupStart]; index++) {
+                weightGroupSizes[edgesByWeight[index]] = groupFillCounts[groupStart];
+            }
+        }
+        weightOrderValid = true;
+    }
+
+    private static int getFirstIndexOfWeight(double[] sortedWeights, double weight) {
+        int lowerIndex = 0;
+        int upperIndex = sortedWeights.length;
+        while (lowerIndex < upperIndex) {
+            int middleIndex = (lowerIndex + upperIndex) >>> 1;
+            if (Double.compare(sortedWeights[middleIndex], weight) < 0) {
+                lowerIndex = middleIndex + 1;
+            } else {
+                upperIndex = middleIndex;
+            }
+        }
+        return lowerIndex;
+    }
+}
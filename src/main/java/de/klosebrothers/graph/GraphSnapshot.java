@@ -0,0 +1,123 @@
+package de.klosebrothers.graph;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+public class GraphSnapshot {
+
+    private static final int MAGIC_NUMBER = 0x4D545347;
+    private static final int FORMAT_VERSION = 1;
+    private static final int EDGE_RECORD_SIZE = 2 * Integer.BYTES + Double.BYTES;
+
+    private GraphSnapshot() {
+    }
+
+    public static void save(WeightedGraph graph, Path path) {
+        List<Vertex> vertices = graph.getVertices();
+        int numberOfEdges = graph.getNumberOfEdges();
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            output.writeInt(MAGIC_NUMBER);
+            output.writeInt(FORMAT_VERSION);
+            output.writeInt(vertices.size());
+            output.writeInt(numberOfEdges);
+            for (Vertex vertex : vertices) {
+                byte[] name = vertex.getName().getBytes(StandardCharsets.UTF_8);
+                output.writeInt(name.length);
+                output.write(name);
+            }
+            for (Vertex vertex : vertices) {
+                for (WeightedEdge edge : vertex.getOutEdges().values()) {
+                    output.writeInt(vertex.getId());
+                    output.writeInt(edge.getDestination().getId());
+                    output.writeDouble(edge.getWeight());
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static WeightedGraph load(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("graph snapshot " + path + " exceeds " + Integer.MAX_VALUE + " bytes");
+            }
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), path);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static WeightedGraph read(ByteBuffer buffer, Path path) {
+        if (buffer.remaining() < 16 || buffer.getInt() != MAGIC_NUMBER || buffer.getInt() != FORMAT_VERSION) {
+            throw new IllegalArgumentException(path + " is not a graph snapshot of version " + FORMAT_VERSION);
+        }
+        int numberOfVertices = buffer.getInt();
+        int numberOfEdges = buffer.getInt();
+        if (numberOfVertices < 0 || (long) numberOfVertices * Integer.BYTES > buffer.remaining()) {
+            throw getCorruptSnapshotException(path, "invalid number of vertices " + numberOfVertices);
+        }
+        String[] names = new String[numberOfVertices];
+        for (int vertex = 0; vertex < numberOfVertices; vertex++) {
+            int nameLength = buffer.remaining() < Integer.BYTES ? -1 : buffer.getInt();
+            if (nameLength < 0 || nameLength > buffer.remaining()) {
+                throw getCorruptSnapshotException(path, "invalid name length " + nameLength + " of vertex " + vertex);
+            }
+            byte[] name = new byte[nameLength];
+            buffer.get(name);
+            names[vertex] = new String(name, StandardCharsets.UTF_8);
+        }
+        if (numberOfEdges < 0 || (long) numberOfEdges * EDGE_RECORD_SIZE > buffer.remaining()) {
+            throw getCorruptSnapshotException(path, "invalid number of edges " + numberOfEdges);
+        }
+        int edgesStart = buffer.position();
+        int[] outDegrees = new int[numberOfVertices];
+        int[] inDegrees = new int[numberOfVertices];
+        for (int edge = 0; edge < numberOfEdges; edge++) {
+            int source = buffer.getInt();
+            int destination = buffer.getInt();
+            buffer.getDouble();
+            if (source < 0 || source >= numberOfVertices || destination < 0 || destination >= numberOfVertices || source == destination) {
+                throw getCorruptSnapshotException(path, "invalid endpoints " + source + " -> " + destination + " of edge " + edge);
+            }
+            outDegrees[source]++;
+            inDegrees[destination]++;
+        }
+        List<Vertex> vertices = new ArrayList<>(numberOfVertices);
+        for (int vertex = 0; vertex < numberOfVertices; vertex++) {
+            vertices.add(new Vertex(names[vertex], vertex, getPresizedMap(outDegrees[vertex]), getPresizedMap(inDegrees[vertex])));
+        }
+        buffer.position(edgesStart);
+        for (int edge = 0; edge < numberOfEdges; edge++) {
+            Vertex source = vertices.get(buffer.getInt());
+            Vertex destination = vertices.get(buffer.getInt());
+            WeightedEdge weightedEdge = new WeightedEdge(source, destination, buffer.getDouble());
+            if (source.getOutEdges().put(destination, weightedEdge) != null) {
+                throw getCorruptSnapshotException(path, "duplicate edge " + source.getId() + " -> " + destination.getId());
+            }
+            destination.getInEdges().put(source, weightedEdge);
+        }
+        vertices.forEach(Vertex::recomputeInflux);
+        WeightedGraph graph = new WeightedGraph();
+        graph.setVertices(vertices);
+        return graph;
+    }
+
+    private static IllegalArgumentException getCorruptSnapshotException(Path path, String reason) {
+        return new IllegalArgumentException("graph snapshot " + path + " is corrupt: " + reason);
+    }
+
+    private static HashMap<Vertex, WeightedEdge> getPresizedMap(int numberOfEntries) {
+        return new HashMap<>(Math.max(16, (int) (numberOfEntries / 0.75f) + 1));
+    }
+}
@@ -0,0 +1,103 @@
+package de.klosebrothers.graph;
+
+import java.util.Arrays;
+
+public class TraversalKernel {
+    private final CompactGraph graph;
+    private int[] visitStamps;
+    private int[] targetStamps;
+    private int[] vertexStack;
+    private int[] edgeCursors;
+    private int visitStamp;
+    private int targetStamp;
+    private int size;
+
+    public TraversalKernel(CompactGraph graph) {
+        this.graph = graph;
+        visitStamps = new int[0];
+        targetStamps = new int[0];
+        vertexStack = new int[0];
+        edgeCursors = new int[0];
+    }
+
+    public void ensureCapacity(int numberOfVertices) {
+        if (visitStamps.length >= numberOfVertices) {
+            return;
+        }
+        visitStamps = new int[numberOfVertices];
+        targetStamps = new int[numberOfVertices];
+        vertexStack = new int[numberOfVertices];
+        edgeCursors = new int[numberOfVertices];
+        visitStamp = 0;
+        targetStamp = 0;
+    }
+
+    public void startTraversal() {
+        size = 0;
+        if (++visitStamp == 0) {
+            Arrays.fill(visitStamps, 0);
+            visitStamp = 1;
+        }
+    }
+
+    public void clearTargets() {
+        if (++targetStamp == 0) {
+            Arrays.fill(targetStamps, 0);
+            targetStamp = 1;
+        }
+    }
+
+    public void markTarget(int vertex) {
+        targetStamps[vertex] = targetStamp;
+    }
+
+    public boolean isTarget(int vertex) {
+        return targetStamps[vertex] == targetStamp;
+    }
+
+    public void markVisited(int vertex) {
+        visitStamps[vertex] = visitStamp;
+    }
+
+    public void unmarkVisited(int vertex) {
+        visitStamps[vertex] = 0;
+    }
+
+    public boolean isVisited(int vertex) {
+        return visitStamps[vertex] == visitStamp;
+    }
+
+    public void push(int vertex) {
+        vertexStack[size] = vertex;
+        edgeCursors[size] = graph.getEdgesBegin(vertex);
+        size++;
+    }
+
+    public int pop() {
+        return vertexStack[--size];
+    }
+
+    public int peek() {
+        return vertexStack[size - 1];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int nextEdge() {
+        int vertex = vertexStack[size - 1];
+        if (edgeCursors[size - 1] >= graph.getEdgesEnd(vertex)) {
+            return -1;
+        }
+        return edgeCursors[size - 1]++;
+    }
+
+    public int[] getVertexStack() {
+        return vertexStack;
+    }
+}
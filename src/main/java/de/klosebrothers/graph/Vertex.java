@@ -4,39 +4,86 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
 
-@AllArgsConstructor
 @Getter
 @Setter
 public class Vertex {
     private String name;
+    private int id;
     private Map<Vertex, WeightedEdge> outEdges;
     private Map<Vertex, WeightedEdge> inEdges;
+    @Setter(AccessLevel.NONE)
+    private double influx;
 
     public Vertex(String name) {
+        this(name, -1, new HashMap<>(), new HashMap<>());
+    }
+
+    public Vertex(String name, int id, Map<Vertex, WeightedEdge> outEdges, Map<Vertex, WeightedEdge> inEdges) {
         this.name = name;
-        outEdges = new HashMap<>();
-        inEdges = new HashMap<>();
+        this.id = id;
+        this.outEdges = outEdges;
+        this.inEdges = inEdges;
+        recomputeInflux();
+    }
+
+    public void setOutEdges(Map<Vertex, WeightedEdge> outEdges) {
+        this.outEdges = outEdges;
+        recomputeInflux();
+    }
+
+    public void setInEdges(Map<Vertex, WeightedEdge> inEdges) {
+        this.inEdges = inEdges;
+        recomputeInflux();
     }
 
     public void addOutEdge(WeightedEdge edge) {
-        outEdges.put(edge.getDestination(), edge);
+        WeightedEdge replacedEdge = outEdges.put(edge.getDestination(), edge);
+        if (replacedEdge != null) {
+            influx += replacedEdge.getWeight();
+        }
+        influx -= edge.getWeight();
     }
 
     public void addInEdge(WeightedEdge edge) {
-        inEdges.put(edge.getSource(), edge);
+        WeightedEdge replacedEdge = inEdges.put(edge.getSource(), edge);
+        if (replacedEdge != null) {
+            influx -= replacedEdge.getWeight();
+        }
+        influx += edge.getWeight();
     }
 
     public void removeOutEdge(WeightedEdge edge) {
-        outEdges.remove(edge.getDestination());
+        WeightedEdge removedEdge = outEdges.remove(edge.getDestination());
+        if (removedEdge != null) {
+            influx += removedEdge.getWeight();
+        }
     }
 
     public void removeInEdge(WeightedEdge edge) {
-        inEdges.remove(edge.getSource());
+        WeightedEdge removedEdge = inEdges.remove(edge.getSource());
+        if (removedEdge != null) {
+            influx -= removedEdge.getWeight();
+        }
+    }
+
+    public void removeAllEdges() {
+        outEdges.clear();
+        inEdges.clear();
+        influx = 0.0;
+    }
+
+    void updateEdgeWeight(WeightedEdge edge, double weightDifference) {
+        if (outEdges.get(edge.getDestination()) == edge) {
+            influx -= weightDifference;
+        }
+        if (inEdges.get(edge.getSource()) == edge) {
+            influx += weightDifference;
+        }
     }
 
     public Optional<WeightedEdge> getOutEdgeToVertex(Vertex vertex) {
@@ -51,8 +98,8 @@ public class Vertex {
         return outEdges.values().stream().map(WeightedEdge::getDestination).toList();
     }
 
-    public double getInflux() {
-        return getSumOfEdges(inEdges) - getSumOfEdges(outEdges);
+    public void recomputeInflux() {
+        influx = getSumOfEdges(inEdges) - getSumOfEdges(outEdges);
     }
 
     @NotNull
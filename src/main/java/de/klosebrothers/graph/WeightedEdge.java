@@ -12,11 +12,27 @@ public class WeightedEdge {
     private Vertex destination;
     private double weight;
 
+    public void setWeight(double weight) {
+        double weightDifference = weight - this.weight;
+        this.weight = weight;
+        updateVertexInfluxes(weightDifference);
+    }
+
     public void addWeight(double weightToAdd) {
         weight += weightToAdd;
+        updateVertexInfluxes(weightToAdd);
     }
 
     public void subtractWeight(double weightToSubtract) {
         addWeight(-weightToSubtract);
     }
+
+    private void updateVertexInfluxes(double weightDifference) {
+        if (source != null) {
+            source.updateEdgeWeight(this, weightDifference);
+        }
+        if (destination != null && destination != source) {
+            destination.updateEdgeWeight(this, weightDifference);
+        }
+    }
 }
@@ -1,8 +1,11 @@
 package de.klosebrothers.graph;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -10,26 +13,60 @@ import lombok.Setter;
 @Setter
 public class WeightedGraph {
     private List<Vertex> vertices;
+    @Setter(AccessLevel.NONE)
+    @Getter(AccessLevel.NONE)
+    private Map<String, Vertex> verticesByName;
+    @Setter(AccessLevel.NONE)
+    private long version;
 
     public WeightedGraph() {
         vertices = new ArrayList<>();
+        verticesByName = new HashMap<>();
+    }
+
+    public void setVertices(List<Vertex> vertices) {
+        this.vertices = new ArrayList<>();
+        verticesByName = new HashMap<>();
+        vertices.forEach(this::addVertex);
+        version++;
     }
 
     public void addVertex(Vertex vertex) {
+        vertex.setId(vertices.size());
         vertices.add(vertex);
+        verticesByName.putIfAbsent(vertex.getName(), vertex);
+        version++;
     }
 
     public Optional<Vertex> getVertexByName(String vertexName) {
-        return vertices.stream().filter(vertex -> vertexName.equals(vertex.getName())).findFirst();
+        return Optional.ofNullable(verticesByName.get(vertexName));
+    }
+
+    public Vertex getVertexById(int vertexId) {
+        return vertices.get(vertexId);
+    }
+
+    public int getNumberOfVertices() {
+        return vertices.size();
+    }
+
+    public int getNumberOfEdges() {
+        return vertices.stream().mapToInt(vertex -> vertex.getOutEdges().size()).sum();
     }
 
     public WeightedEdge addEdge(Vertex sourceVertex, Vertex destinationVertex, double edgeWeight) {
         WeightedEdge edge = new WeightedEdge(sourceVertex, destinationVertex, edgeWeight);
         sourceVertex.addOutEdge(edge);
         destinationVertex.addInEdge(edge);
+        version++;
         return edge;
     }
 
+    public void addEdgeWeight(WeightedEdge edge, double weightToAdd) {
+        edge.addWeight(weightToAdd);
+        version++;
+    }
+
     public void removeEdge(Vertex sourceVertex, Vertex destinationVertex) {
         Optional<WeightedEdge> edgeMaybe = sourceVertex.getOutEdgeToVertex(destinationVertex);
         if (edgeMaybe.isEmpty()) {
@@ -38,17 +75,24 @@ public class WeightedGraph {
         WeightedEdge edge = edgeMaybe.get();
         sourceVertex.removeOutEdge(edge);
         destinationVertex.removeInEdge(edge);
+        version++;
+    }
+
+    public void removeAllEdges() {
+        vertices.forEach(Vertex::removeAllEdges);
+        version++;
     }
 
     public void reduceEdgeWeights(List<WeightedEdge> edges, double amountToReduce) {
         edges.forEach(edge -> edge.subtractWeight(amountToReduce));
+        version++;
     }
 
     public WeightedEdge flipEdge(WeightedEdge edge) {
         removeEdge(edge.getSource(), edge.getDestination());
         Optional<WeightedEdge> flippedEdgeMaybe = edge.getDestination().getOutEdgeToVertex(edge.getSource());
         if (flippedEdgeMaybe.isPresent()) {
-            flippedEdgeMaybe.get().subtractWeight(edge.getWeight());
+            addEdgeWeight(flippedEdgeMaybe.get(), -edge.getWeight());
             return flippedEdgeMaybe.get();
         }
         return addEdge(edge.getDestination(), edge.getSource(), -edge.getWeight());
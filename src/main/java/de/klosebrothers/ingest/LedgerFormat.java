@@ -0,0 +1,6 @@
+package de.klosebrothers.ingest;
+
+public enum LedgerFormat {
+    CSV,
+    NDJSON
+}
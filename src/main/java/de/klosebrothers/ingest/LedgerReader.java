@@ -0,0 +1,424 @@
+package de.klosebrothers.ingest;
+
+import de.klosebrothers.minimumtransactions.Payments;
+import de.klosebrothers.util.LongDoubleMap;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class LedgerReader {
+
+    private static final long MAPPING_WINDOW_SIZE = 1L << 28;
+    private static final int BATCH_SIZE = 65_536;
+    private static final int MAXIMUM_MANTISSA_DIGITS = 15;
+    private static final byte[] GIVER_KEY = "giver".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] AMOUNT_KEY = "amount".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RECIPIENTS_KEY = "recipients".getBytes(StandardCharsets.UTF_8);
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    private final Payments payments;
+    private final LedgerFormat format;
+    private final NameDictionary names;
+    private final LongDoubleMap amountsByPair;
+    private int[] participantIdsByNameId;
+    private int[] recipientNameIds;
+    private int[] recipientParticipantIds;
+    private int numberOfRecipients;
+    private ByteBuffer buffer;
+    private int position;
+    private int recordEnd;
+    private long lineNumber;
+    private long numberOfRecords;
+
+    private LedgerReader(Payments payments, LedgerFormat format) {
+        this.payments = payments;
+        this.format = format;
+        names = new NameDictionary();
+        amountsByPair = new LongDoubleMap(BATCH_SIZE);
+        participantIdsByNameId = new int[0];
+        recipientNameIds = new int[16];
+        recipientParticipantIds = new int[16];
+    }
+
+    public static long read(Path ledger, LedgerFormat format, Payments payments) {
+        LedgerReader reader = new LedgerReader(payments, format);
+        try (FileChannel channel = FileChannel.open(ledger, StandardOpenOption.READ)) {
+            reader.readChannel(channel);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return reader.numberOfRecords;
+    }
+
+    private void readChannel(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long windowStart = 0;
+        while (windowStart < size) {
+            long windowSize = Math.min(MAPPING_WINDOW_SIZE, size - windowStart);
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowSize);
+            int windowEnd = (int) windowSize;
+            if (windowStart + windowSize < size) {
+                windowEnd = getEndOfLastLine(windowEnd);
+                if (windowEnd == 0) {
+                    throw new IllegalArgumentException("ledger line " + (lineNumber + 1) + " is longer than " + MAPPING_WINDOW_SIZE + " bytes");
+                }
+            }
+            readLines(windowEnd);
+            windowStart += windowEnd;
+        }
+        flushBatch();
+    }
+
+    private int getEndOfLastLine(int windowEnd) {
+        for (int index = windowEnd - 1; index >= 0; index--) {
+            if (buffer.get(index) == '\n') {
+                return index + 1;
+            }
+        }
+        return 0;
+    }
+
+    private void readLines(int windowEnd) {
+        int lineStart = 0;
+        while (lineStart < windowEnd) {
+            int lineEnd = indexOf((byte) '\n', lineStart, windowEnd);
+            lineNumber++;
+            int contentEnd = lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            position = lineStart;
+            recordEnd = contentEnd;
+            skipWhitespace();
+            if (position < recordEnd) {
+                if (format == LedgerFormat.CSV) {
+                    readCsvRecord();
+                } else {
+                    readNdjsonRecord();
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    private void readCsvRecord() {
+        int giverEnd = indexOf((byte) ',', position, recordEnd);
+        int amountEnd = indexOf((byte) ',', Math.min(giverEnd + 1, recordEnd), recordEnd);
+        double amount = giverEnd < recordEnd ? parseAmount(giverEnd + 1, amountEnd) : Double.NaN;
+        if (Double.isNaN(amount) && lineNumber == 1) {
+            return;
+        }
+        if (Double.isNaN(amount) || amountEnd >= recordEnd) {
+            throw getMalformedRecordException();
+        }
+        int giverNameId = getTrimmedNameId(position, giverEnd);
+        numberOfRecipients = 0;
+        int fieldStart = amountEnd + 1;
+        while (fieldStart <= recordEnd) {
+            int fieldEnd = indexOf((byte) ',', fieldStart, recordEnd);
+            addRecipient(getTrimmedNameId(fieldStart, fieldEnd));
+            fieldStart = fieldEnd + 1;
+        }
+        addPayment(giverNameId, amount);
+    }
+
+    private int getTrimmedNameId(int start, int end) {
+        while (start < end && isWhitespace(buffer.get(start))) {
+            start++;
+        }
+        while (end > start && isWhitespace(buffer.get(end - 1))) {
+            end--;
+        }
+        if (start == end) {
+            throw getMalformedRecordException();
+        }
+        return names.getId(buffer, start, end);
+    }
+
+    private void readNdjsonRecord() {
+        int giverNameId = -1;
+        double amount = Double.NaN;
+        numberOfRecipients = 0;
+        expect('{');
+        skipWhitespace();
+        if (peek() != '}') {
+            do {
+                skipWhitespace();
+                expect('"');
+                int keyStart = position;
+                position = indexOf((byte) '"', position, recordEnd);
+                int keyEnd = position;
+                expect('"');
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                if (isKey(keyStart, keyEnd, GIVER_KEY)) {
+                    giverNameId = readJsonString();
+                } else if (isKey(keyStart, keyEnd, AMOUNT_KEY)) {
+                    amount = readJsonAmount();
+                } else if (isKey(keyStart, keyEnd, RECIPIENTS_KEY)) {
+                    readJsonRecipients();
+                } else {
+                    skipJsonValue();
+                }
+                skipWhitespace();
+            } while (tryConsume(','));
+        }
+        expect('}');
+        if (giverNameId < 0 || Double.isNaN(amount) || numberOfRecipients == 0) {
+            throw getMalformedRecordException();
+        }
+        addPayment(giverNameId, amount);
+    }
+
+    private boolean isKey(int start, int end, byte[] key) {
+        if (end - start != key.length) {
+            return false;
+        }
+        for (int index = 0; index < key.length; index++) {
+            if (buffer.get(start + index) != key[index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int readJsonString() {
+        expect('"');
+        int start = position;
+        boolean escaped = false;
+        while (position < recordEnd && buffer.get(position) != '"') {
+            if (buffer.get(position) == '\\') {
+                escaped = true;
+                position++;
+            }
+            position++;
+        }
+        int end = position;
+        expect('"');
+        if (start == end) {
+            throw getMalformedRecordException();
+        }
+        if (!escaped) {
+            return names.getId(buffer, start, end);
+        }
+        byte[] unescapedName = unescapeJsonString(start, end).getBytes(StandardCharsets.UTF_8);
+        return names.getId(ByteBuffer.wrap(unescapedName), 0, unescapedName.length);
+    }
+
+    private String unescapeJsonString(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        String escapedName = new String(bytes, StandardCharsets.UTF_8);
+        StringBuilder name = new StringBuilder(escapedName.length());
+        for (int index = 0; index < escapedName.length(); index++) {
+            char character = escapedName.charAt(index);
+            if (character != '\\') {
+                name.append(character);
+                continue;
+            }
+            char escape = escapedName.charAt(++index);
+            switch (escape) {
+                case 'b' -> name.append('\b');
+                case 'f' -> name.append('\f');
+                case 'n' -> name.append('\n');
+                case 'r' -> name.append('\r');
+                case 't' -> name.append('\t');
+                case 'u' -> {
+                    name.append((char) Integer.parseInt(escapedName.substring(index + 1, index + 5), 16));
+                    index += 4;
+                }
+                default -> name.append(escape);
+            }
+        }
+        return name.toString();
+    }
+
+    private double readJsonAmount() {
+        boolean quoted = tryConsume('"');
+        int start = position;
+        while (position < recordEnd && !isJsonDelimiter(buffer.get(position))) {
+            position++;
+        }
+        double amount = parseAmount(start, position);
+        if (quoted) {
+            expect('"');
+        }
+        return amount;
+    }
+
+    private void readJsonRecipients() {
+        expect('[');
+        skipWhitespace();
+        if (tryConsume(']')) {
+            return;
+        }
+        do {
+            skipWhitespace();
+            addRecipient(readJsonString());
+            skipWhitespace();
+        } while (tryConsume(','));
+        expect(']');
+    }
+
+    private void skipJsonValue() {
+        int depth = 0;
+        while (position < recordEnd) {
+            byte current = buffer.get(position);
+            if (current == '"') {
+                position++;
+                while (position < recordEnd && buffer.get(position) != '"') {
+                    position += buffer.get(position) == '\\' ? 2 : 1;
+                }
+            } else if (current == '{' || current == '[') {
+                depth++;
+            } else if (current == '}' || current == ']') {
+                if (depth == 0) {
+                    return;
+                }
+                depth--;
+            } else if (current == ',' && depth == 0) {
+                return;
+            }
+            position++;
+        }
+    }
+
+    private double parseAmount(int start, int end) {
+        while (start < end && isWhitespace(buffer.get(start))) {
+            start++;
+        }
+        while (end > start && isWhitespace(buffer.get(end - 1))) {
+            end--;
+        }
+        boolean negative = start < end && buffer.get(start) == '-';
+        long mantissa = 0;
+        int numberOfDigits = 0;
+        int numberOfFractionDigits = -1;
+        for (int index = negative ? start + 1 : start; index < end; index++) {
+            byte current = buffer.get(index);
+            if (current >= '0' && current <= '9' && numberOfDigits < MAXIMUM_MANTISSA_DIGITS) {
+                mantissa = 10 * mantissa + (current - '0');
+                numberOfDigits++;
+                if (numberOfFractionDigits >= 0) {
+                    numberOfFractionDigits++;
+                }
+            } else if (current == '.' && numberOfFractionDigits < 0) {
+                numberOfFractionDigits = 0;
+            } else {
+                return parseAmountSlowly(start, end);
+            }
+        }
+        if (numberOfDigits == 0) {
+            return Double.NaN;
+        }
+        double amount = mantissa / POWERS_OF_TEN[Math.max(numberOfFractionDigits, 0)];
+        return negative ? -amount : amount;
+    }
+
+    private double parseAmountSlowly(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        try {
+            return Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private void addRecipient(int recipientNameId) {
+        if (numberOfRecipients == recipientNameIds.length) {
+            recipientNameIds = Arrays.copyOf(recipientNameIds, 2 * numberOfRecipients);
+            recipientParticipantIds = new int[recipientNameIds.length];
+        }
+        recipientNameIds[numberOfRecipients++] = recipientNameId;
+    }
+
+    private void addPayment(int giverNameId, double amount) {
+        numberOfRecords++;
+        if (hasRecipientOtherThan(giverNameId)) {
+            int giverId = getParticipantId(giverNameId);
+            for (int recipient = 0; recipient < numberOfRecipients; recipient++) {
+                recipientParticipantIds[recipient] = getParticipantId(recipientNameIds[recipient]);
+            }
+            payments.addPaymentToPairs(giverId, amount, recipientParticipantIds, numberOfRecipients, amountsByPair);
+        }
+        if (numberOfRecords % BATCH_SIZE == 0) {
+            flushBatch();
+        }
+    }
+
+    private boolean hasRecipientOtherThan(int giverNameId) {
+        for (int recipient = 0; recipient < numberOfRecipients; recipient++) {
+            if (recipientNameIds[recipient] != giverNameId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int getParticipantId(int nameId) {
+        if (nameId >= participantIdsByNameId.length) {
+            int oldLength = participantIdsByNameId.length;
+            participantIdsByNameId = Arrays.copyOf(participantIdsByNameId, Math.max(16, Math.max(nameId + 1, 2 * oldLength)));
+            Arrays.fill(participantIdsByNameId, oldLength, participantIdsByNameId.length, -1);
+        }
+        if (participantIdsByNameId[nameId] < 0) {
+            participantIdsByNameId[nameId] = payments.getOrCreateParticipantId(names.getName(nameId));
+        }
+        return participantIdsByNameId[nameId];
+    }
+
+    private void flushBatch() {
+        payments.registerPairAmounts(amountsByPair);
+        amountsByPair.clear();
+    }
+
+    private int indexOf(byte value, int start, int end) {
+        for (int index = start; index < end; index++) {
+            if (buffer.get(index) == value) {
+                return index;
+            }
+        }
+        return end;
+    }
+
+    private void skipWhitespace() {
+        while (position < recordEnd && isWhitespace(buffer.get(position))) {
+            position++;
+        }
+    }
+
+    private byte peek() {
+        return position < recordEnd ? buffer.get(position) : 0;
+    }
+
+    private boolean tryConsume(char expected) {
+        if (peek() == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char expected) {
+        if (!tryConsume(expected)) {
+            throw getMalformedRecordException();
+        }
+    }
+
+    private IllegalArgumentException getMalformedRecordException() {
+        return new IllegalArgumentException("malformed " + format + " ledger record at line " + lineNumber);
+    }
+
+    private static boolean isWhitespace(byte value) {
+        return value == ' ' || value == '\t';
+    }
+
+    private static boolean isJsonDelimiter(byte value) {
+        return value == ',' || value == '}' || value == ']' || value == '"' || isWhitespace(value);
+    }
+}
@@ -0,0 +1,103 @@
+package de.klosebrothers.ingest;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class NameDictionary {
+
+    private static final int FNV_OFFSET_BASIS = 0x811C9DC5;
+    private static final int FNV_PRIME = 0x01000193;
+
+    private final List<byte[]> nameBytes;
+    private final List<String> names;
+    private int[] hashes;
+    private int[] slots;
+
+    public NameDictionary() {
+        nameBytes = new ArrayList<>();
+        names = new ArrayList<>();
+        hashes = new int[16];
+        slots = new int[32];
+        Arrays.fill(slots, -1);
+    }
+
+    public String getName(ByteBuffer buffer, int start, int end) {
+        return names.get(getId(buffer, start, end));
+    }
+
+    public String getName(int nameId) {
+        return names.get(nameId);
+    }
+
+    public int getId(ByteBuffer buffer, int start, int end) {
+        int hash = getHash(buffer, start, end);
+        int mask = slots.length - 1;
+        int slot = hash & mask;
+        while (slots[slot] >= 0) {
+            int nameIndex = slots[slot];
+            if (hashes[nameIndex] == hash && isEqual(nameBytes.get(nameIndex), buffer, start, end)) {
+                return nameIndex;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return addName(buffer, start, end, hash, slot);
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    private int addName(ByteBuffer buffer, int start, int end, int hash, int slot) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        String name = new String(bytes, StandardCharsets.UTF_8);
+        int nameIndex = names.size();
+        nameBytes.add(bytes);
+        names.add(name);
+        if (nameIndex == hashes.length) {
+            hashes = Arrays.copyOf(hashes, 2 * hashes.length);
+        }
+        hashes[nameIndex] = hash;
+        slots[slot] = nameIndex;
+        if (2 * names.size() > slots.length) {
+            rehash();
+        }
+        return nameIndex;
+    }
+
+    private void rehash() {
+        slots = new int[2 * slots.length];
+        Arrays.fill(slots, -1);
+        int mask = slots.length - 1;
+        for (int nameIndex = 0; nameIndex < names.size(); nameIndex++) {
+            int slot = hashes[nameIndex] & mask;
+            while (slots[slot] >= 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = nameIndex;
+        }
+    }
+
+    private static int getHash(ByteBuffer buffer, int start, int end) {
+        int hash = FNV_OFFSET_BASIS;
+        for (int position = start; position < end; position++) {
+            hash = (hash ^ (buffer.get(position) & 0xFF)) * FNV_PRIME;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean isEqual(byte[] bytes, ByteBuffer buffer, int start, int end) {
+        if (bytes.length != end - start) {
+            return false;
+        }
+        for (int index = 0; index < bytes.length; index++) {
+            if (bytes[index] != buffer.get(start + index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,199 @@
+package de.klosebrothers.journal;
+
+import de.klosebrothers.minimumtransactions.Payment;
+import de.klosebrothers.minimumtransactions.Payments;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+public class DurablePayments implements AutoCloseable {
+
+    private static final Pattern SNAPSHOT_FILE_PATTERN = Pattern.compile("snapshot-(\\d+)\\.bin");
+    private static final Pattern LOG_FILE_PATTERN = Pattern.compile("payments-(\\d+)\\.log");
+    private static final int REPLAY_BATCH_SIZE = 65_536;
+
+    private final Path directory;
+    private final Payments payments;
+    private final GroupCommitPolicy policy;
+    private PaymentLog log;
+    private long generation;
+    private RuntimeException appendFailure;
+
+    private DurablePayments(Path directory, Payments payments, GroupCommitPolicy policy) {
+        this.directory = directory;
+        this.payments = payments;
+        this.policy = policy;
+    }
+
+    public static DurablePayments open(Path directory, Payments payments, GroupCommitPolicy policy) {
+        DurablePayments durablePayments = new DurablePayments(directory, payments, policy);
+        durablePayments.recover();
+        return durablePayments;
+    }
+
+    public Payments getPayments() {
+        return payments;
+    }
+
+    public synchronized CompletableFuture<Void> registerPayment(String giverName, double paymentAmount, String... recipientNames) {
+        Payment payment = Payment.of(giverName, paymentAmount, recipientNames);
+        validate(payment);
+        ensureWritable();
+        payments.registerPayment(giverName, paymentAmount, recipientNames);
+        return append(List.of(payment));
+    }
+
+    public synchronized CompletableFuture<Void> registerPayments(Collection<Payment> newPayments) {
+        newPayments.forEach(DurablePayments::validate);
+        ensureWritable();
+        payments.registerPayments(newPayments);
+        return append(newPayments);
+    }
+
+    public synchronized void simplify(boolean render) {
+        payments.simplify(render);
+    }
+
+    public synchronized void checkpoint() {
+        ensureWritable();
+        log.close();
+        long nextGeneration = generation + 1;
+        log = PaymentLog.open(getLogPath(nextGeneration), policy);
+        Path temporarySnapshot = directory.resolve("snapshot-" + nextGeneration + ".tmp");
+        payments.saveSnapshot(temporarySnapshot);
+        try (FileChannel channel = FileChannel.open(temporarySnapshot, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        try {
+            Files.move(temporarySnapshot, getSnapshotPath(nextGeneration), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        generation = nextGeneration;
+        deleteFilesBefore(generation);
+    }
+
+    @Override
+    public synchronized void close() {
+        log.close();
+    }
+
+    private void ensureWritable() {
+        if (appendFailure != null) {
+            throw new IllegalStateException("payments diverged from the payment log after a failed append", appendFailure);
+        }
+        log.ensureWritable();
+    }
+
+    private CompletableFuture<Void> append(Collection<Payment> appliedPayments) {
+        CompletableFuture<Void> acknowledgement = CompletableFuture.completedFuture(null);
+        try {
+            for (Payment payment : appliedPayments) {
+                acknowledgement = log.append(payment);
+            }
+        } catch (RuntimeException e) {
+            appendFailure = e;
+            throw e;
+        }
+        return acknowledgement;
+    }
+
+    private static void validate(Payment payment) {
+        if (payment.giverName() == null || payment.recipientNames().stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("payment " + payment + " has no giver or recipient name");
+        }
+        if (!Double.isFinite(payment.amount())) {
+            throw new IllegalArgumentException("payment " + payment + " has no finite amount");
+        }
+    }
+
+    private void recover() {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        OptionalLong snapshotGeneration = getGenerations(SNAPSHOT_FILE_PATTERN).stream().mapToLong(Long::longValue).max();
+        if (snapshotGeneration.isPresent()) {
+            generation = snapshotGeneration.getAsLong();
+            payments.loadSnapshot(getSnapshotPath(generation));
+        }
+        long logGeneration = generation;
+        for (long replayedGeneration : getGenerations(LOG_FILE_PATTERN)) {
+            if (replayedGeneration >= generation) {
+                replay(getLogPath(replayedGeneration));
+                logGeneration = replayedGeneration;
+            }
+        }
+        deleteFilesBefore(generation);
+        log = PaymentLog.open(getLogPath(logGeneration), policy);
+    }
+
+    private void replay(Path logPath) {
+        List<Payment> batch = new ArrayList<>(REPLAY_BATCH_SIZE);
+        PaymentLog.read(logPath, payment -> {
+            batch.add(payment);
+            if (batch.size() == REPLAY_BATCH_SIZE) {
+                payments.registerPayments(batch);
+                batch.clear();
+            }
+        });
+        payments.registerPayments(batch);
+    }
+
+    private List<Long> getGenerations(Pattern filePattern) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> filePattern.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void deleteFilesBefore(long firstKeptGeneration) {
+        try {
+            for (long staleGeneration : getGenerations(SNAPSHOT_FILE_PATTERN)) {
+                if (staleGeneration < firstKeptGeneration) {
+                    Files.delete(getSnapshotPath(staleGeneration));
+                }
+            }
+            for (long staleGeneration : getGenerations(LOG_FILE_PATTERN)) {
+                if (staleGeneration < firstKeptGeneration) {
+                    Files.delete(getLogPath(staleGeneration));
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Path getSnapshotPath(long snapshotGeneration) {
+        return directory.resolve("snapshot-" + snapshotGeneration + ".bin");
+    }
+
+    private Path getLogPath(long logGeneration) {
+        return directory.resolve("payments-" + logGeneration + ".log");
+    }
+}
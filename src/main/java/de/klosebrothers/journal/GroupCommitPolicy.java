@@ -0,0 +1,25 @@
+package de.klosebrothers.journal;
+
+import java.time.Duration;
+
+public record GroupCommitPolicy(Duration maximumDelay, int maximumBatchBytes) {
+
+    public static final GroupCommitPolicy DEFAULT = new GroupCommitPolicy(Duration.ofMillis(5), 1 << 20);
+
+    public GroupCommitPolicy {
+        if (maximumDelay.isNegative()) {
+            throw new IllegalArgumentException("maximum delay must not be negative but was " + maximumDelay);
+        }
+        if (maximumBatchBytes <= 0) {
+            throw new IllegalArgumentException("maximum batch bytes must be positive but was " + maximumBatchBytes);
+        }
+    }
+
+    public static GroupCommitPolicy ofDelay(Duration maximumDelay) {
+        return new GroupCommitPolicy(maximumDelay, DEFAULT.maximumBatchBytes());
+    }
+
+    public static GroupCommitPolicy ofBatchBytes(int maximumBatchBytes) {
+        return new GroupCommitPolicy(DEFAULT.maximumDelay(), maximumBatchBytes);
+    }
+}
@@ -0,0 +1,275 @@
+package de.klosebrothers.journal;
+
+import de.klosebrothers.minimumtransactions.Payment;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+public class PaymentLog implements AutoCloseable {
+
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int MAXIMUM_RECORD_SIZE = 1 << 26;
+
+    private final FileChannel channel;
+    private final GroupCommitPolicy policy;
+    private final Thread flusher;
+    private final CRC32 checksum;
+    private ByteBuffer pendingRecords;
+    private ByteBuffer writtenRecords;
+    private List<CompletableFuture<Void>> pendingAcknowledgements;
+    private List<CompletableFuture<Void>> writtenAcknowledgements;
+    private long firstPendingNanos;
+    private boolean syncRequested;
+    private boolean closed;
+    private IOException failure;
+
+    private PaymentLog(FileChannel channel, GroupCommitPolicy policy) {
+        this.channel = channel;
+        this.policy = policy;
+        checksum = new CRC32();
+        pendingRecords = ByteBuffer.allocate(Math.min(policy.maximumBatchBytes(), 1 << 16));
+        writtenRecords = ByteBuffer.allocate(pendingRecords.capacity());
+        pendingAcknowledgements = new ArrayList<>();
+        writtenAcknowledgements = new ArrayList<>();
+        flusher = new Thread(this::flushContinuously, "payment-log-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    public static PaymentLog open(Path path, GroupCommitPolicy policy) {
+        long validLength = Files.exists(path) ? read(path, payment -> {
+        }) : 0;
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            channel.truncate(validLength);
+            channel.position(validLength);
+            return new PaymentLog(channel, policy);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static long read(Path path, Consumer<Payment> consumer) {
+        long validLength = 0;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            CRC32 recordChecksum = new CRC32();
+            while (true) {
+                int payloadLength = input.readInt();
+                int expectedChecksum = input.readInt();
+                if (payloadLength < 0 || payloadLength > MAXIMUM_RECORD_SIZE) {
+                    break;
+                }
+                byte[] payload = new byte[payloadLength];
+                input.readFully(payload);
+                recordChecksum.reset();
+                recordChecksum.update(payload);
+                if ((int) recordChecksum.getValue() != expectedChecksum) {
+                    break;
+                }
+                consumer.accept(decode(ByteBuffer.wrap(payload)));
+                validLength += RECORD_HEADER_SIZE + payloadLength;
+            }
+        } catch (EOFException e) {
+            return validLength;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return validLength;
+    }
+
+    public synchronized CompletableFuture<Void> append(Payment payment) {
+        ensureWritable();
+        encode(payment);
+        CompletableFuture<Void> acknowledgement = new CompletableFuture<>();
+        if (pendingAcknowledgements.isEmpty()) {
+            firstPendingNanos = System.nanoTime();
+            notifyAll();
+        } else if (pendingRecords.position() >= policy.maximumBatchBytes()) {
+            notifyAll();
+        }
+        pendingAcknowledgements.add(acknowledgement);
+        return acknowledgement;
+    }
+
+    public synchronized void ensureWritable() {
+        if (closed) {
+            throw new IllegalStateException("payment log is closed");
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("payment log failed to write", failure);
+        }
+    }
+
+    public void sync() {
+        CompletableFuture<Void> lastAcknowledgement;
+        synchronized (this) {
+            if (failure != null) {
+                throw new UncheckedIOException("payment log failed to write", failure);
+            }
+            if (pendingAcknowledgements.isEmpty() && writtenAcknowledgements.isEmpty()) {
+                return;
+            }
+            List<CompletableFuture<Void>> acknowledgements = pendingAcknowledgements.isEmpty() ? writtenAcknowledgements : pendingAcknowledgements;
+            lastAcknowledgement = acknowledgements.get(acknowledgements.size() - 1);
+            syncRequested = true;
+            notifyAll();
+        }
+        lastAcknowledgement.join();
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        try {
+            flusher.join();
+            channel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void encode(Payment payment) {
+        byte[] giverName = payment.giverName().getBytes(StandardCharsets.UTF_8);
+        List<byte[]> recipientNames = new ArrayList<>(payment.recipientNames().size());
+        int payloadLength = Double.BYTES + 2 * Integer.BYTES + giverName.length;
+        for (String recipientName : payment.recipientNames()) {
+            byte[] encodedName = recipientName.getBytes(StandardCharsets.UTF_8);
+            recipientNames.add(encodedName);
+            payloadLength += Integer.BYTES + encodedName.length;
+        }
+        ensurePendingCapacity(RECORD_HEADER_SIZE + payloadLength);
+        int recordStart = pendingRecords.position();
+        pendingRecords.putInt(payloadLength).putInt(0);
+        pendingRecords.putDouble(payment.amount()).putInt(giverName.length).put(giverName).putInt(recipientNames.size());
+        for (byte[] recipientName : recipientNames) {
+            pendingRecords.putInt(recipientName.length).put(recipientName);
+        }
+        checksum.reset();
+        checksum.update(pendingRecords.array(), recordStart + RECORD_HEADER_SIZE, payloadLength);
+        pendingRecords.putInt(recordStart + Integer.BYTES, (int) checksum.getValue());
+    }
+
+    private static Payment decode(ByteBuffer payload) {
+        double amount = payload.getDouble();
+        String giverName = decodeName(payload);
+        int numberOfRecipients = payload.getInt();
+        List<String> recipientNames = new ArrayList<>(numberOfRecipients);
+        for (int recipient = 0; recipient < numberOfRecipients; recipient++) {
+            recipientNames.add(decodeName(payload));
+        }
+        return new Payment(giverName, amount, List.copyOf(recipientNames));
+    }
+
+    private static String decodeName(ByteBuffer payload) {
+        int length = payload.getInt();
+        String name = new String(payload.array(), payload.position(), length, StandardCharsets.UTF_8);
+        payload.position(payload.position() + length);
+        return name;
+    }
+
+    private void ensurePendingCapacity(int numberOfBytes) {
+        if (pendingRecords.remaining() >= numberOfBytes) {
+            return;
+        }
+        ByteBuffer grownRecords = ByteBuffer.allocate(Math.max(2 * pendingRecords.capacity(), pendingRecords.position() + numberOfBytes));
+        grownRecords.put(pendingRecords.flip());
+        pendingRecords = grownRecords;
+    }
+
+    private void flushContinuously() {
+        while (true) {
+            synchronized (this) {
+                try {
+                    waitForBatch();
+                } catch (InterruptedException e) {
+                    closed = true;
+                }
+                if (pendingAcknowledgements.isEmpty() && closed) {
+                    return;
+                }
+                ByteBuffer records = writtenRecords;
+                writtenRecords = pendingRecords;
+                pendingRecords = records;
+                List<CompletableFuture<Void>> acknowledgements = writtenAcknowledgements;
+                writtenAcknowledgements = pendingAcknowledgements;
+                pendingAcknowledgements = acknowledgements;
+                syncRequested = false;
+            }
+            if (!writeBatch()) {
+                return;
+            }
+        }
+    }
+
+    private void waitForBatch() throws InterruptedException {
+        while (!closed && !isBatchDue()) {
+            if (pendingAcknowledgements.isEmpty()) {
+                wait();
+            } else {
+                TimeUnit.NANOSECONDS.timedWait(this, policy.maximumDelay().toNanos() - (System.nanoTime() - firstPendingNanos));
+            }
+        }
+    }
+
+    private boolean isBatchDue() {
+        return !pendingAcknowledgements.isEmpty() && (syncRequested
+                || pendingRecords.position() >= policy.maximumBatchBytes()
+                || System.nanoTime() - firstPendingNanos >= policy.maximumDelay().toNanos());
+    }
+
+    private boolean writeBatch() {
+        try {
+            writtenRecords.flip();
+            while (writtenRecords.hasRemaining()) {
+                channel.write(writtenRecords);
+            }
+            channel.force(false);
+            writtenAcknowledgements.forEach(acknowledgement -> acknowledgement.complete(null));
+        } catch (IOException e) {
+            failPendingAcknowledgements(e);
+            return false;
+        }
+        synchronized (this) {
+            writtenRecords.clear();
+            writtenAcknowledgements.clear();
+        }
+        return true;
+    }
+
+    private void failPendingAcknowledgements(IOException e) {
+        List<CompletableFuture<Void>> failedAcknowledgements = new ArrayList<>(writtenAcknowledgements);
+        synchronized (this) {
+            failure = e;
+            failedAcknowledgements.addAll(pendingAcknowledgements);
+            pendingAcknowledgements.clear();
+            pendingRecords.clear();
+            writtenRecords.clear();
+            writtenAcknowledgements.clear();
+            notifyAll();
+        }
+        failedAcknowledgements.forEach(acknowledgement -> acknowledgement.completeExceptionally(e));
+    }
+}
@@ -0,0 +1,6 @@
+package de.klosebrothers.minimumtransactions;
+
+public enum AmountRepresentation {
+    DOUBLE,
+    MINOR_UNITS
+}
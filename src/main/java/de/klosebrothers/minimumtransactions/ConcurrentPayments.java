@@ -0,0 +1,81 @@
+package de.klosebrothers.minimumtransactions;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class ConcurrentPayments {
+
+    private final Payments payments;
+    private final ConcurrentHashMap<String, Integer> participantIds;
+    private final AtomicInteger nextParticipantId;
+    private final Lock registrationLock;
+    private final Lock handOffLock;
+    private volatile ConcurrentHashMap<Long, PendingPayment> pendingPayments;
+
+    public ConcurrentPayments(Payments payments) {
+        this.payments = payments;
+        participantIds = new ConcurrentHashMap<>();
+        nextParticipantId = new AtomicInteger();
+        ReentrantReadWriteLock handOffReadWriteLock = new ReentrantReadWriteLock();
+        registrationLock = handOffReadWriteLock.readLock();
+        handOffLock = handOffReadWriteLock.writeLock();
+        pendingPayments = new ConcurrentHashMap<>();
+    }
+
+    public void registerPayment(String giverName, double paymentAmount, String... recipientNames) {
+        double[] weights = payments.getWeightsPerRecipient(paymentAmount, recipientNames.length);
+        long giverId = getParticipantId(giverName);
+        registrationLock.lock();
+        try {
+            ConcurrentHashMap<Long, PendingPayment> currentPendingPayments = pendingPayments;
+            for (int recipientIndex = 0; recipientIndex < recipientNames.length; recipientIndex++) {
+                String recipientName = recipientNames[recipientIndex];
+                if (recipientName.equals(giverName)) {
+                    continue;
+                }
+                long pair = giverId << 32 | getParticipantId(recipientName);
+                currentPendingPayments.computeIfAbsent(pair, key -> new PendingPayment(giverName, recipientName))
+                        .weight().add(weights[recipientIndex]);
+            }
+        } finally {
+            registrationLock.unlock();
+        }
+    }
+
+    public void registerPayment(Payment payment) {
+        registerPayment(payment.giverName(), payment.amount(), payment.recipientNames().toArray(String[]::new));
+    }
+
+    public synchronized Payments drain() {
+        ConcurrentHashMap<Long, PendingPayment> drainedPayments;
+        handOffLock.lock();
+        try {
+            drainedPayments = pendingPayments;
+            pendingPayments = new ConcurrentHashMap<>();
+        } finally {
+            handOffLock.unlock();
+        }
+        drainedPayments.values().forEach(pendingPayment ->
+                payments.addToPayment(pendingPayment.giverName(), pendingPayment.recipientName(), pendingPayment.weight().sum()));
+        return payments;
+    }
+
+    public synchronized Payments simplify(boolean render) {
+        drain().simplify(render);
+        return payments;
+    }
+
+    private long getParticipantId(String name) {
+        return participantIds.computeIfAbsent(name, key -> nextParticipantId.getAndIncrement());
+    }
+
+    private record PendingPayment(String giverName, String recipientName, DoubleAdder weight) {
+
+        private PendingPayment(String giverName, String recipientName) {
+            this(giverName, recipientName, new DoubleAdder());
+        }
+    }
+}
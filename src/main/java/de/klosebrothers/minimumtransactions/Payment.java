@@ -0,0 +1,10 @@
+package de.klosebrothers.minimumtransactions;
+
+import java.util.List;
+
+public record Payment(String giverName, double amount, List<String> recipientNames) {
+
+    public static Payment of(String giverName, double amount, String... recipientNames) {
+        return new Payment(giverName, amount, List.of(recipientNames));
+    }
+}
@@ -1,107 +1,380 @@
 package de.klosebrothers.minimumtransactions;
 
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import de.klosebrothers.algorithm.AlternativePathDetector;
+import de.klosebrothers.algorithm.ChainSearchBudget;
+import de.klosebrothers.algorithm.ChainSearchResult;
+import de.klosebrothers.algorithm.CycleCanceller;
 import de.klosebrothers.algorithm.CycleDetector;
+import de.klosebrothers.algorithm.ExactSettler;
 import de.klosebrothers.algorithm.GraphUtilities;
+import de.klosebrothers.algorithm.GreedySettler;
 import de.klosebrothers.algorithm.MaximumChainDetector;
+import de.klosebrothers.algorithm.Transfer;
+import de.klosebrothers.graph.CompactGraph;
+import de.klosebrothers.graph.GraphSnapshot;
 import de.klosebrothers.graph.Vertex;
 import de.klosebrothers.graph.WeightedEdge;
 import de.klosebrothers.graph.WeightedGraph;
+import de.klosebrothers.rendering.FrameOutput;
 import de.klosebrothers.rendering.Renderer;
+import de.klosebrothers.rendering.RenderingPolicy;
 import de.klosebrothers.util.DoubleUtil;
+import de.klosebrothers.util.LongDoubleMap;
 
 public class Payments {
 
     private final WeightedGraph graph;
+    private final CompactGraph snapshot;
     private final Renderer renderer;
+    private final AmountRepresentation amountRepresentation;
+    private final Set<Vertex> changedVertices;
+    private SimplificationStrategy simplificationStrategy;
+    private ChainSearchBudget chainSearchBudget;
+    private ForkJoinPool workerPool;
+    private int numberOfSimplifyIterations;
+    private boolean chainSearchExhausted;
+    private Map<String, Double> allInfluxes;
+    private long allInfluxesVersion;
+    private String resolvingPayments;
+    private long resolvingPaymentsVersion;
+    private long snapshotVersion;
 
     public Payments() {
-        graph = new WeightedGraph();
-        renderer = new Renderer("src/test/generated/resources/", "", 0);
+        this(AmountRepresentation.DOUBLE);
+    }
+
+    public Payments(AmountRepresentation amountRepresentation) {
+        this("", 0, amountRepresentation);
     }
 
     public Payments(String name, int frameRatePerSecond) {
+        this(name, frameRatePerSecond, AmountRepresentation.DOUBLE);
+    }
+
+    public Payments(String name, int frameRatePerSecond, AmountRepresentation amountRepresentation) {
+        this(new Renderer("src/test/generated/resources/", name, frameRatePerSecond), amountRepresentation);
+    }
+
+    private Payments(Renderer renderer, AmountRepresentation amountRepresentation) {
         graph = new WeightedGraph();
-        renderer = new Renderer("src/test/generated/resources/", name, frameRatePerSecond);
+        snapshot = new CompactGraph();
+        this.renderer = renderer;
+        this.amountRepresentation = amountRepresentation;
+        changedVertices = new LinkedHashSet<>();
+        simplificationStrategy = SimplificationStrategy.ELIMINATION;
+        chainSearchBudget = ChainSearchBudget.DEFAULT;
+        allInfluxesVersion = -1;
+        resolvingPaymentsVersion = -1;
+        snapshotVersion = -1;
+    }
+
+    public void setSimplificationStrategy(SimplificationStrategy simplificationStrategy) {
+        this.simplificationStrategy = simplificationStrategy;
+    }
+
+    public void setChainSearchBudget(ChainSearchBudget chainSearchBudget) {
+        this.chainSearchBudget = chainSearchBudget;
+    }
+
+    public void setWorkerPool(ForkJoinPool workerPool) {
+        this.workerPool = workerPool;
+    }
+
+    public void setRenderingPolicy(RenderingPolicy renderingPolicy) {
+        renderer.renderAsynchronously(renderingPolicy);
+    }
+
+    public void setFrameOutput(FrameOutput frameOutput) {
+        renderer.setFrameOutput(frameOutput);
     }
 
     public void registerPayment(String giverName, double paymentAmount, String... recipientNames) {
+        if (amountRepresentation == AmountRepresentation.MINOR_UNITS) {
+            registerPaymentInMinorUnits(giverName, DoubleUtil.toMinorUnits(paymentAmount), recipientNames);
+            return;
+        }
         final double paymentAmountPerPerson = paymentAmount / recipientNames.length;
         Arrays.stream(recipientNames).filter(name -> !name.equals(giverName)).forEach(recipientName -> {
             Vertex giver = getOrCreatePerson(giverName);
             Vertex recipient = getOrCreatePerson(recipientName);
             WeightedEdge currentPayment = getOrCreatePayment(giver, recipient);
-            currentPayment.addWeight(paymentAmountPerPerson);
+            graph.addEdgeWeight(currentPayment, paymentAmountPerPerson);
+            markChanged(List.of(giver, recipient));
+        });
+    }
+
+    public void registerPaymentInMinorUnits(String giverName, long paymentAmount, String... recipientNames) {
+        long[] paymentAmountPerPerson = DoubleUtil.splitMinorUnits(paymentAmount, recipientNames.length);
+        for (int recipientIndex = 0; recipientIndex < recipientNames.length; recipientIndex++) {
+            if (recipientNames[recipientIndex].equals(giverName)) {
+                continue;
+            }
+            Vertex giver = getOrCreatePerson(giverName);
+            Vertex recipient = getOrCreatePerson(recipientNames[recipientIndex]);
+            WeightedEdge currentPayment = getOrCreatePayment(giver, recipient);
+            graph.addEdgeWeight(currentPayment, toWeight(paymentAmountPerPerson[recipientIndex]));
+            markChanged(List.of(giver, recipient));
+        }
+    }
+
+    public void registerPayments(Collection<Payment> payments) {
+        registerPayments(payments.stream());
+    }
+
+    public void registerPayments(Stream<Payment> payments) {
+        LongDoubleMap amountsByPair = new LongDoubleMap();
+        payments.forEachOrdered(payment -> addPaymentToPairs(payment, amountsByPair));
+        registerPairAmounts(amountsByPair);
+    }
+
+    public void registerPairAmounts(LongDoubleMap amountsByPair) {
+        amountsByPair.forEach((pair, amount) -> {
+            Vertex giver = graph.getVertexById((int) (pair >>> 32));
+            Vertex recipient = graph.getVertexById((int) pair);
+            graph.addEdgeWeight(getOrCreatePayment(giver, recipient), amount);
+            changedVertices.add(giver);
+            changedVertices.add(recipient);
         });
     }
 
+    public void addPaymentToPairs(int giverId, double paymentAmount, int[] recipientIds, int numberOfRecipients, LongDoubleMap amountsByPair) {
+        double[] weights = getWeightsPerRecipient(paymentAmount, numberOfRecipients);
+        for (int recipientIndex = 0; recipientIndex < numberOfRecipients; recipientIndex++) {
+            if (recipientIds[recipientIndex] != giverId) {
+                amountsByPair.add((long) giverId << 32 | recipientIds[recipientIndex], weights[recipientIndex]);
+            }
+        }
+    }
+
+    public void saveSnapshot(Path path) {
+        GraphSnapshot.save(graph, path);
+    }
+
+    public void loadSnapshot(Path path) {
+        graph.setVertices(GraphSnapshot.load(path).getVertices());
+        changedVertices.clear();
+        changedVertices.addAll(graph.getVertices());
+    }
+
     public double getTotalPaymentFromTo(String giverName, String recipientName) {
         Optional<Vertex> giverMaybe = graph.getVertexByName(giverName);
         Optional<Vertex> recipientMaybe = graph.getVertexByName(recipientName);
         if (giverMaybe.isEmpty() || recipientMaybe.isEmpty()) {
             return 0.0;
         }
-        return giverMaybe.get().getOutEdgeToVertex(recipientMaybe.get()).map(WeightedEdge::getWeight).orElse(0.0);
+        return giverMaybe.get().getOutEdgeToVertex(recipientMaybe.get()).map(edge -> toAmount(edge.getWeight())).orElse(0.0);
     }
 
     public double getInfluxForPerson(String name) {
         Optional<Vertex> person = graph.getVertexByName(name);
-        return person.map(Vertex::getInflux).orElse(0.0);
+        return person.map(vertex -> toAmount(vertex.getInflux())).orElse(0.0);
     }
 
     public Map<String, Double> getAllInfluxes() {
-        return graph.getVertices().stream()
-                .collect(Collectors.toMap(Vertex::getName, vertex -> DoubleUtil.roundToTwoPlaces(vertex.getInflux())));
+        if (allInfluxesVersion != graph.getVersion()) {
+            allInfluxes = Collections.unmodifiableMap(graph.getVertices().stream()
+                    .collect(Collectors.toMap(Vertex::getName, vertex -> toRoundedAmount(vertex.getInflux()))));
+            allInfluxesVersion = graph.getVersion();
+        }
+        return allInfluxes;
     }
 
     public String getResolvingPayments() {
-        return graph.getVertices().stream()
-                .flatMap(vertex -> vertex.getInEdges().values().stream())
-                .map(Payments::getPaymentAsString)
-                .sorted()
-                .collect(Collectors.joining(System.lineSeparator()));
+        if (resolvingPaymentsVersion != graph.getVersion()) {
+            CompactGraph settlement = getSnapshot();
+            resolvingPayments = IntStream.range(0, settlement.getNumberOfEdges())
+                    .mapToObj(edge -> getPaymentAsString(settlement.getEdge(edge)))
+                    .sorted()
+                    .collect(Collectors.joining(System.lineSeparator()));
+            resolvingPaymentsVersion = graph.getVersion();
+        }
+        return resolvingPayments;
+    }
+
+    public void forEachResolvingPayment(SettlementConsumer consumer) {
+        CompactGraph settlement = getSnapshot();
+        long version = graph.getVersion();
+        for (int creditor = 0; creditor < settlement.getNumberOfVertices(); creditor++) {
+            for (int edge = settlement.getEdgesBegin(creditor); edge < settlement.getEdgesEnd(creditor); edge++) {
+                consumer.accept(settlement.getTarget(edge), creditor, toMinorUnits(settlement.getWeight(edge)));
+                if (version != graph.getVersion()) {
+                    throw new ConcurrentModificationException("payments changed while consuming resolving payments");
+                }
+            }
+        }
+    }
+
+    public Iterator<Transfer> getResolvingTransfers() {
+        CompactGraph settlement = getSnapshot();
+        long version = graph.getVersion();
+        return new Iterator<>() {
+            private int creditor;
+            private int edge;
+
+            @Override
+            public boolean hasNext() {
+                return edge < settlement.getNumberOfEdges();
+            }
+
+            @Override
+            public Transfer next() {
+                if (version != graph.getVersion()) {
+                    throw new ConcurrentModificationException("payments changed while iterating resolving transfers");
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                while (settlement.getEdgesEnd(creditor) <= edge) {
+                    creditor++;
+                }
+                Transfer transfer = new Transfer(creditor, settlement.getTarget(edge), toMinorUnits(settlement.getWeight(edge)));
+                edge++;
+                return transfer;
+            }
+        };
+    }
+
+    public long getSettlementVersion() {
+        return graph.getVersion();
+    }
+
+    public int getResolvingPayments(long settlementVersion, int fromIndex, int[] debtorIds, int[] creditorIds, long[] amounts) {
+        if (settlementVersion != graph.getVersion()) {
+            throw new ConcurrentModificationException("payments changed since settlement version " + settlementVersion);
+        }
+        if (fromIndex < 0) {
+            throw new IndexOutOfBoundsException("from index must not be negative but was " + fromIndex);
+        }
+        CompactGraph settlement = getSnapshot();
+        int numberOfCopiedPayments = Math.max(0, Math.min(Math.min(debtorIds.length, creditorIds.length),
+                Math.min(amounts.length, settlement.getNumberOfEdges() - fromIndex)));
+        for (int index = 0; index < numberOfCopiedPayments; index++) {
+            int edge = fromIndex + index;
+            debtorIds[index] = settlement.getTarget(edge);
+            creditorIds[index] = settlement.getSource(edge);
+            amounts[index] = toMinorUnits(settlement.getWeight(edge));
+        }
+        return numberOfCopiedPayments;
+    }
+
+    public int getOrCreateParticipantId(String name) {
+        return getOrCreatePerson(name).getId();
+    }
+
+    public String getParticipantName(int participantId) {
+        return graph.getVertexById(participantId).getName();
+    }
+
+    public int getNumberOfResolvingPayments() {
+        return graph.getNumberOfEdges();
+    }
+
+    public int getNumberOfSimplifyIterations() {
+        return numberOfSimplifyIterations;
+    }
+
+    public boolean isChainSearchExhausted() {
+        return chainSearchExhausted;
     }
 
     public void simplify(boolean render) {
+        numberOfSimplifyIterations = 0;
+        chainSearchExhausted = false;
         if (render) renderer.renderPng(graph);
-        while (!isSimplified()){
-            eliminateAllCyclicPayments(render);
-            eliminateAllChainedPayments(render);
-            eliminateAllIndirectPayments(render);
+        if (simplificationStrategy == SimplificationStrategy.GREEDY_NET_BALANCE) {
+            settleNetBalances(render);
+        } else if (simplificationStrategy == SimplificationStrategy.EXACT) {
+            settleExactly(render);
+        } else if (workerPool != null && !render) {
+            simplifyComponentsInParallel();
+        } else {
+            while (!chainSearchExhausted && !isSimplified()){
+                numberOfSimplifyIterations++;
+                eliminateAllCyclicPayments(render);
+                eliminateAllChainedPayments(render);
+                eliminateAllIndirectPayments(render);
+            }
+            if (!chainSearchExhausted) {
+                changedVertices.clear();
+            }
         }
         if (render) renderer.renderGif();
     }
 
     public boolean isSimplified() {
-        return CycleDetector.getCycle(graph).isEmpty() && MaximumChainDetector.getMaximumChain(graph).isEmpty() && AlternativePathDetector.getAlternativePath(graph).isEmpty();
+        CompactGraph currentSnapshot = getSnapshot();
+        boolean[] verticesReachingChanges = getVerticesReachingChanges();
+        return CycleDetector.getCycle(currentSnapshot, getChangedVertexMask()).isEmpty()
+                && MaximumChainDetector.searchMaximumChain(currentSnapshot, verticesReachingChanges, chainSearchBudget, workerPool).isChainFree()
+                && AlternativePathDetector.getAlternativePath(currentSnapshot, verticesReachingChanges).isEmpty();
+    }
+
+    public void settleNetBalances(boolean render) {
+        GreedySettler.settle(graph);
+        changedVertices.clear();
+        if (render) renderer.renderPng(graph);
+    }
+
+    public void settleExactly(boolean render) {
+        List<Vertex> vertices = graph.getVertices();
+        long[] balances = new long[vertices.size()];
+        int largestBalance = 0;
+        for (int vertex = 0; vertex < vertices.size(); vertex++) {
+            balances[vertex] = toMinorUnits(vertices.get(vertex).getInflux());
+            if (Math.abs(balances[vertex]) > Math.abs(balances[largestBalance])) {
+                largestBalance = vertex;
+            }
+        }
+        if (balances.length > 0) {
+            balances[largestBalance] -= Arrays.stream(balances).sum();
+        }
+        Optional<List<Transfer>> transfersMaybe = ExactSettler.trySettle(balances);
+        if (transfersMaybe.isEmpty()) {
+            settleNetBalances(render);
+            return;
+        }
+        List<Transfer> transfers = transfersMaybe.get();
+        graph.removeAllEdges();
+        transfers.forEach(transfer -> graph.addEdge(vertices.get(transfer.creditor()), vertices.get(transfer.debtor()), toWeight(transfer.amount())));
+        changedVertices.clear();
+        if (render) renderer.renderPng(graph);
     }
 
     public void eliminateAllCyclicPayments(boolean render) {
-        List<Vertex> cycle;
-        while (!(cycle = CycleDetector.getCycle(graph)).isEmpty()) {
-            List<WeightedEdge> edgesOfCycle = GraphUtilities.getEdgesOfCycle(cycle);
-            graph.reduceEdgeWeights(edgesOfCycle, GraphUtilities.getSmallestWeight(edgesOfCycle));
-            graph.deleteEdgesWithZeroWeight(edgesOfCycle);
+        CycleCanceller.cancelAllCycles(graph, getSnapshot(), getChangedVertexMask(), cycle -> {
+            markChanged(cycle);
             if (render) renderer.renderPng(graph);
-        }
+        });
     }
 
     public void eliminateAllChainedPayments(boolean render) {
-        Optional<List<WeightedEdge>> chainMaybe;
-        while ((chainMaybe = MaximumChainDetector.getMaximumChain(graph)).isPresent()) {
-            List<WeightedEdge> chain = chainMaybe.get();
+        ChainSearchResult chainSearchResult;
+        while ((chainSearchResult = MaximumChainDetector.searchMaximumChain(getSnapshot(), getVerticesReachingChanges(), chainSearchBudget, workerPool)).chain().isPresent()) {
+            List<WeightedEdge> chain = chainSearchResult.chain().get();
+            chain.forEach(edge -> markChanged(List.of(edge.getSource(), edge.getDestination())));
             double chainWeight = chain.get(0).getWeight();
             graph.reduceEdgeWeights(chain, chainWeight);
             Vertex chainSource = chain.get(0).getSource();
             Vertex chainDestination = chain.get(chain.size() - 1).getDestination();
             Optional<WeightedEdge> chainSourceDestinationEdgeMaybe = chainSource.getOutEdgeToVertex(chainDestination);
             if (chainSourceDestinationEdgeMaybe.isPresent()) {
-                chainSourceDestinationEdgeMaybe.get().addWeight(chainWeight);
+                graph.addEdgeWeight(chainSourceDestinationEdgeMaybe.get(), chainWeight);
             } else {
                 graph.addEdge(chainSource, chainDestination, chainWeight);
             }
@@ -109,12 +382,14 @@ public class Payments {
             graph.deleteEdgesWithZeroWeight(chain);
             if (render) renderer.renderPng(graph);
         }
+        chainSearchExhausted = chainSearchResult.exhausted();
     }
 
     public void eliminateAllIndirectPayments(boolean render) {
         Optional<List<Vertex>> indirectPaymentMaybe;
-        while ((indirectPaymentMaybe = AlternativePathDetector.getAlternativePath(graph)).isPresent()) {
+        while ((indirectPaymentMaybe = AlternativePathDetector.getAlternativePath(getSnapshot(), getVerticesReachingChanges())).isPresent()) {
             List<Vertex> indirectPaymentVertices = indirectPaymentMaybe.get();
+            markChanged(indirectPaymentVertices);
             List<WeightedEdge> indirectPaymentEdges = GraphUtilities.getEdgesOfChain(indirectPaymentVertices);
             double smallestIndirectPayment = GraphUtilities.getSmallestWeight(indirectPaymentEdges);
             graph.reduceEdgeWeights(indirectPaymentEdges, smallestIndirectPayment);
@@ -125,13 +400,123 @@ public class Payments {
             if (directPaymentEdgeMaybe.isEmpty()) {
                 break;
             }
-            directPaymentEdgeMaybe.get().addWeight(smallestIndirectPayment);
+            graph.addEdgeWeight(directPaymentEdgeMaybe.get(), smallestIndirectPayment);
             if (render) renderer.renderPng(graph);
         }
     }
 
-    private static String getPaymentAsString(WeightedEdge edge) {
-        return edge.getDestination().getName() + " owes " + edge.getSource().getName() + " " + DoubleUtil.roundToTwoPlaces(edge.getWeight());
+    private void simplifyComponentsInParallel() {
+        List<Payments> componentPayments;
+        try {
+            componentPayments = GraphUtilities.getWeaklyConnectedComponents(graph).stream()
+                    .filter(component -> component.stream().anyMatch(changedVertices::contains))
+                    .map(this::createComponentPayments)
+                    .toList();
+            workerPool.submit(() -> componentPayments.parallelStream().forEach(payments -> payments.simplify(false))).join();
+        } finally {
+            graph.setVertices(graph.getVertices());
+        }
+        numberOfSimplifyIterations = componentPayments.stream().mapToInt(Payments::getNumberOfSimplifyIterations).max().orElse(0);
+        changedVertices.clear();
+        componentPayments.stream().filter(Payments::isChainSearchExhausted).forEach(payments -> changedVertices.addAll(payments.changedVertices));
+        chainSearchExhausted = componentPayments.stream().anyMatch(Payments::isChainSearchExhausted);
+    }
+
+    private Payments createComponentPayments(List<Vertex> component) {
+        Payments componentPayments = new Payments(null, amountRepresentation);
+        componentPayments.graph.setVertices(component);
+        componentPayments.chainSearchBudget = chainSearchBudget;
+        component.stream().filter(changedVertices::contains).forEach(componentPayments.changedVertices::add);
+        return componentPayments;
+    }
+
+    private void markChanged(List<Vertex> vertices) {
+        changedVertices.addAll(vertices);
+    }
+
+    private boolean[] getChangedVertexMask() {
+        return GraphUtilities.getVertexMask(graph, changedVertices);
+    }
+
+    boolean[] getVerticesReachingChanges() {
+        return GraphUtilities.getVerticesReachingAny(graph, changedVertices);
+    }
+
+    private CompactGraph getSnapshot() {
+        if (snapshotVersion != graph.getVersion()) {
+            snapshot.rebuild(graph);
+            snapshotVersion = graph.getVersion();
+        }
+        return snapshot;
+    }
+
+    private String getPaymentAsString(WeightedEdge edge) {
+        return edge.getDestination().getName() + " owes " + edge.getSource().getName() + " " + toRoundedAmount(edge.getWeight());
+    }
+
+    private double toWeight(long minorUnits) {
+        if (amountRepresentation == AmountRepresentation.MINOR_UNITS) {
+            return minorUnits;
+        }
+        return DoubleUtil.fromMinorUnits(minorUnits);
+    }
+
+    private long toMinorUnits(double weight) {
+        if (amountRepresentation == AmountRepresentation.MINOR_UNITS) {
+            return Math.round(weight);
+        }
+        return DoubleUtil.toMinorUnits(weight);
+    }
+
+    private double toAmount(double weight) {
+        if (amountRepresentation == AmountRepresentation.MINOR_UNITS) {
+            return DoubleUtil.fromMinorUnits(Math.round(weight));
+        }
+        return weight;
+    }
+
+    private double toRoundedAmount(double weight) {
+        if (amountRepresentation == AmountRepresentation.MINOR_UNITS) {
+            return DoubleUtil.fromMinorUnits(Math.round(weight));
+        }
+        return DoubleUtil.roundToTwoPlaces(weight);
+    }
+
+    double[] getWeightsPerRecipient(double paymentAmount, int numberOfRecipients) {
+        double[] weights = new double[numberOfRecipients];
+        if (amountRepresentation == AmountRepresentation.MINOR_UNITS) {
+            long[] paymentAmountPerPerson = DoubleUtil.splitMinorUnits(DoubleUtil.toMinorUnits(paymentAmount), numberOfRecipients);
+            for (int recipientIndex = 0; recipientIndex < numberOfRecipients; recipientIndex++) {
+                weights[recipientIndex] = toWeight(paymentAmountPerPerson[recipientIndex]);
+            }
+        } else {
+            Arrays.fill(weights, paymentAmount / numberOfRecipients);
+        }
+        return weights;
+    }
+
+    void addToPayment(String giverName, String recipientName, double weight) {
+        Vertex giver = getOrCreatePerson(giverName);
+        Vertex recipient = getOrCreatePerson(recipientName);
+        graph.addEdgeWeight(getOrCreatePayment(giver, recipient), weight);
+        changedVertices.add(giver);
+        changedVertices.add(recipient);
+    }
+
+    private void addPaymentToPairs(Payment payment, LongDoubleMap amountsByPair) {
+        List<String> recipientNames = payment.recipientNames();
+        double[] weights = getWeightsPerRecipient(payment.amount(), recipientNames.size());
+        long giverId = -1;
+        for (int recipientIndex = 0; recipientIndex < recipientNames.size(); recipientIndex++) {
+            if (recipientNames.get(recipientIndex).equals(payment.giverName())) {
+                continue;
+            }
+            if (giverId < 0) {
+                giverId = getOrCreatePerson(payment.giverName()).getId();
+            }
+            long recipientId = getOrCreatePerson(recipientNames.get(recipientIndex)).getId();
+            amountsByPair.add(giverId << 32 | recipientId, weights[recipientIndex]);
+        }
     }
 
     private Vertex getOrCreatePerson(String name) {
@@ -151,4 +536,9 @@ public class Payments {
     private WeightedEdge createNewEmptyPayment(Vertex giver, Vertex recipient) {
         return graph.addEdge(giver, recipient, 0.0);
     }
+
+    @FunctionalInterface
+    public interface SettlementConsumer {
+        void accept(int debtorId, int creditorId, long amountInMinorUnits);
+    }
 }
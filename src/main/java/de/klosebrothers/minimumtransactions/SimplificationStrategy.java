@@ -0,0 +1,7 @@
+package de.klosebrothers.minimumtransactions;
+
+public enum SimplificationStrategy {
+    ELIMINATION,
+    GREEDY_NET_BALANCE,
+    EXACT
+}
@@ -0,0 +1,232 @@
+package de.klosebrothers.registry;
+
+import de.klosebrothers.minimumtransactions.Payments;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class GroupRegistry {
+
+    private static final int NUMBER_OF_SHARDS = 256;
+
+    private final Path directory;
+    private final ResidencyBudget budget;
+    private final Supplier<Payments> paymentsFactory;
+    private final LinkedHashMap<String, Group> residentGroups;
+    private final Map<String, Group> savingGroups;
+    private long numberOfResidentPayments;
+    private long numberOfEvictions;
+
+    public GroupRegistry(Path directory, ResidencyBudget budget, Supplier<Payments> paymentsFactory) {
+        this.directory = directory;
+        this.budget = budget;
+        this.paymentsFactory = paymentsFactory;
+        residentGroups = new LinkedHashMap<>(16, 0.75f, true);
+        savingGroups = new HashMap<>();
+    }
+
+    public <T> T withGroup(String groupId, Function<Payments, T> action) {
+        Group group = acquire(groupId);
+        try {
+            synchronized (group) {
+                return action.apply(group.payments);
+            }
+        } finally {
+            release(group);
+        }
+    }
+
+    public synchronized boolean isResident(String groupId) {
+        return residentGroups.containsKey(groupId);
+    }
+
+    public synchronized int getNumberOfResidentGroups() {
+        return residentGroups.size();
+    }
+
+    public synchronized long getNumberOfEvictions() {
+        return numberOfEvictions;
+    }
+
+    public void evictAll() {
+        List<Group> evictedGroups = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Group> groups = residentGroups.values().iterator();
+            while (groups.hasNext()) {
+                Group group = groups.next();
+                if (group.pins == 0) {
+                    groups.remove();
+                    markEvicted(group);
+                    evictedGroups.add(group);
+                }
+            }
+        }
+        saveEvicted(evictedGroups);
+    }
+
+    private Group acquire(String groupId) {
+        Group group;
+        boolean loading = false;
+        synchronized (this) {
+            group = residentGroups.get(groupId);
+            if (group == null) {
+                group = savingGroups.get(groupId);
+                if (group != null) {
+                    residentGroups.put(groupId, group);
+                    numberOfResidentPayments += group.numberOfPayments;
+                } else {
+                    group = new Group(groupId);
+                    residentGroups.put(groupId, group);
+                    loading = true;
+                }
+            }
+            group.pins++;
+        }
+        if (loading) {
+            load(group);
+        }
+        try {
+            group.loaded.join();
+        } catch (CompletionException e) {
+            synchronized (this) {
+                group.pins--;
+            }
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        return group;
+    }
+
+    private void release(Group group) {
+        List<Group> evictedGroups = new ArrayList<>();
+        synchronized (this) {
+            group.pins--;
+            if (group.pins == 0 && residentGroups.get(group.groupId) == group) {
+                numberOfResidentPayments -= group.numberOfPayments;
+                group.numberOfPayments = group.payments.getNumberOfResolvingPayments();
+                numberOfResidentPayments += group.numberOfPayments;
+            }
+            Iterator<Group> leastRecentlyUsedGroups = residentGroups.values().iterator();
+            while (isOverBudget() && leastRecentlyUsedGroups.hasNext()) {
+                Group leastRecentlyUsedGroup = leastRecentlyUsedGroups.next();
+                if (leastRecentlyUsedGroup.pins > 0) {
+                    continue;
+                }
+                leastRecentlyUsedGroups.remove();
+                markEvicted(leastRecentlyUsedGroup);
+                evictedGroups.add(leastRecentlyUsedGroup);
+                numberOfEvictions++;
+            }
+        }
+        saveEvicted(evictedGroups);
+    }
+
+    private void markEvicted(Group group) {
+        numberOfResidentPayments -= group.numberOfPayments;
+        group.pendingSaves++;
+        savingGroups.put(group.groupId, group);
+    }
+
+    private void saveEvicted(List<Group> evictedGroups) {
+        RuntimeException failure = null;
+        for (Group group : evictedGroups) {
+            try {
+                synchronized (group) {
+                    save(group);
+                }
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    if (!residentGroups.containsKey(group.groupId)) {
+                        residentGroups.put(group.groupId, group);
+                        numberOfResidentPayments += group.numberOfPayments;
+                    }
+                }
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            } finally {
+                synchronized (this) {
+                    if (--group.pendingSaves == 0) {
+                        savingGroups.remove(group.groupId, group);
+                    }
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private boolean isOverBudget() {
+        return residentGroups.size() > budget.maximumNumberOfGroups()
+                || numberOfResidentPayments > budget.maximumNumberOfPayments();
+    }
+
+    private void load(Group group) {
+        try {
+            Payments payments = paymentsFactory.get();
+            Path snapshot = getSnapshotPath(group.groupId);
+            if (Files.exists(snapshot)) {
+                payments.loadSnapshot(snapshot);
+            }
+            group.payments = payments;
+            group.numberOfPayments = payments.getNumberOfResolvingPayments();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                residentGroups.remove(group.groupId, group);
+            }
+            group.loaded.completeExceptionally(e);
+            return;
+        }
+        synchronized (this) {
+            numberOfResidentPayments += group.numberOfPayments;
+        }
+        group.loaded.complete(null);
+    }
+
+    private void save(Group group) {
+        Path snapshot = getSnapshotPath(group.groupId);
+        Path temporarySnapshot = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(snapshot.getParent());
+            group.payments.saveSnapshot(temporarySnapshot);
+            Files.move(temporarySnapshot, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Path getSnapshotPath(String groupId) {
+        String shard = String.format("%02x", Math.floorMod(groupId.hashCode(), NUMBER_OF_SHARDS));
+        String fileName = Base64.getUrlEncoder().withoutPadding().encodeToString(groupId.getBytes(StandardCharsets.UTF_8));
+        return directory.resolve(shard).resolve(fileName + ".snapshot");
+    }
+
+    private static class Group {
+        private final String groupId;
+        private final CompletableFuture<Void> loaded;
+        private Payments payments;
+        private long numberOfPayments;
+        private int pins;
+        private int pendingSaves;
+
+        private Group(String groupId) {
+            this.groupId = groupId;
+            loaded = new CompletableFuture<>();
+        }
+    }
+}
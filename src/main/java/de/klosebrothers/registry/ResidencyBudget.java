@@ -0,0 +1,19 @@
+package de.klosebrothers.registry;
+
+public record ResidencyBudget(int maximumNumberOfGroups, long maximumNumberOfPayments) {
+
+    public static final ResidencyBudget DEFAULT = new ResidencyBudget(10_000, 10_000_000);
+
+    public ResidencyBudget {
+        if (maximumNumberOfGroups <= 0) {
+            throw new IllegalArgumentException("maximum number of groups must be positive but was " + maximumNumberOfGroups);
+        }
+        if (maximumNumberOfPayments <= 0) {
+            throw new IllegalArgumentException("maximum number of payments must be positive but was " + maximumNumberOfPayments);
+        }
+    }
+
+    public static ResidencyBudget ofGroups(int maximumNumberOfGroups) {
+        return new ResidencyBudget(maximumNumberOfGroups, Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,6 @@
+package de.klosebrothers.rendering;
+
+public enum BackpressurePolicy {
+    BLOCK,
+    DROP_NEWEST
+}
@@ -0,0 +1,6 @@
+package de.klosebrothers.rendering;
+
+public enum FrameOutput {
+    PNG_FILES,
+    GIF_STREAM
+}
@@ -0,0 +1,128 @@
+package de.klosebrothers.rendering;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import com.mxgraph.layout.mxCircleLayout;
+import com.mxgraph.model.mxGeometry;
+import com.mxgraph.util.mxCellRenderer;
+import com.mxgraph.util.mxConstants;
+import de.klosebrothers.rendering.Renderer.WeightedEdge;
+import org.jgrapht.ListenableGraph;
+import org.jgrapht.ext.JGraphXAdapter;
+import org.jgrapht.graph.DefaultListenableGraph;
+import org.jgrapht.graph.SimpleDirectedWeightedGraph;
+
+class FrameRasterizer {
+
+    private final ThreadLocal<GraphView> graphViews;
+    private List<String> layoutVertexNames;
+    private Map<String, mxGeometry> layoutGeometries;
+    private int numberOfLayouts;
+
+    FrameRasterizer() {
+        graphViews = ThreadLocal.withInitial(GraphView::new);
+    }
+
+    BufferedImage rasterize(GraphFrame frame) {
+        GraphView graphView = graphViews.get();
+        if (!Arrays.equals(graphView.vertexNames, frame.vertexNames())) {
+            graphView.reset(frame.vertexNames(), getLayoutGeometries(frame.vertexNames()));
+        }
+        graphView.applyEdges(frame);
+        return mxCellRenderer.createBufferedImage(graphView.graphAdapter, null, 2, Color.WHITE, true, null);
+    }
+
+    void releaseGraphView() {
+        graphViews.remove();
+    }
+
+    synchronized int getNumberOfLayouts() {
+        return numberOfLayouts;
+    }
+
+    private synchronized Map<String, mxGeometry> getLayoutGeometries(String[] vertexNames) {
+        List<String> vertexNameList = List.of(vertexNames);
+        if (!vertexNameList.equals(layoutVertexNames)) {
+            GraphView layoutView = new GraphView();
+            layoutView.reset(vertexNames, Map.of());
+            new mxCircleLayout(layoutView.graphAdapter).execute(layoutView.graphAdapter.getDefaultParent());
+            Map<String, mxGeometry> geometries = new HashMap<>();
+            layoutView.graphAdapter.getVertexToCellMap().forEach((vertexName, cell) ->
+                    geometries.put(vertexName, layoutView.graphAdapter.getModel().getGeometry(cell)));
+            layoutVertexNames = vertexNameList;
+            layoutGeometries = geometries;
+            numberOfLayouts++;
+        }
+        return layoutGeometries;
+    }
+
+    private static class GraphView {
+        private final Map<Long, WeightedEdge> edgesByVertexPair;
+        private String[] vertexNames;
+        private ListenableGraph<String, WeightedEdge> jGraph;
+        private JGraphXAdapter<String, WeightedEdge> graphAdapter;
+
+        private GraphView() {
+            edgesByVertexPair = new HashMap<>();
+        }
+
+        private void reset(String[] frameVertexNames, Map<String, mxGeometry> geometries) {
+            vertexNames = frameVertexNames;
+            edgesByVertexPair.clear();
+            jGraph = new DefaultListenableGraph<>(new SimpleDirectedWeightedGraph<>(WeightedEdge.class));
+            Arrays.stream(vertexNames).forEach(jGraph::addVertex);
+            graphAdapter = new JGraphXAdapter<>(jGraph);
+            graphAdapter.getModel().beginUpdate();
+            try {
+                graphAdapter.getVertexToCellMap().forEach((vertexName, cell) -> {
+                    mxGeometry geometry = geometries.get(vertexName);
+                    if (geometry != null) {
+                        graphAdapter.getModel().setGeometry(cell, (mxGeometry) geometry.clone());
+                    }
+                });
+            } finally {
+                graphAdapter.getModel().endUpdate();
+            }
+        }
+
+        private void applyEdges(GraphFrame frame) {
+            Set<Long> frameVertexPairs = new HashSet<>();
+            graphAdapter.getModel().beginUpdate();
+            try {
+                for (int edge = 0; edge < frame.getNumberOfEdges(); edge++) {
+                    long vertexPair = (long) frame.edgeSources()[edge] << 32 | frame.edgeDestinations()[edge];
+                    frameVertexPairs.add(vertexPair);
+                    applyEdge(vertexPair, frame.edgeSources()[edge], frame.edgeDestinations()[edge], frame.edgeWeights()[edge]);
+                }
+                edgesByVertexPair.entrySet().removeIf(vertexPairEdge -> {
+                    if (frameVertexPairs.contains(vertexPairEdge.getKey())) {
+                        return false;
+                    }
+                    jGraph.removeEdge(vertexPairEdge.getValue());
+                    return true;
+                });
+            } finally {
+                graphAdapter.getModel().endUpdate();
+            }
+        }
+
+        private void applyEdge(long vertexPair, int source, int destination, double weight) {
+            WeightedEdge edge = edgesByVertexPair.get(vertexPair);
+            if (edge == null) {
+                edge = jGraph.addEdge(vertexNames[source], vertexNames[destination]);
+                jGraph.setEdgeWeight(edge, weight);
+                edgesByVertexPair.put(vertexPair, edge);
+                graphAdapter.setCellStyles(mxConstants.STYLE_NOEDGESTYLE, "1", new Object[]{graphAdapter.getEdgeToCellMap().get(edge)});
+            } else if (jGraph.getEdgeWeight(edge) != weight) {
+                jGraph.setEdgeWeight(edge, weight);
+                graphAdapter.getModel().setValue(graphAdapter.getEdgeToCellMap().get(edge), edge);
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package de.klosebrothers.rendering;
+
+interface FrameWriter<T> {
+
+    T render(GraphFrame frame);
+
+    void write(int frameNumber, T renderedFrame);
+}
@@ -0,0 +1,56 @@
+package de.klosebrothers.rendering;
+
+import com.squareup.gifencoder.GifEncoder;
+import com.squareup.gifencoder.ImageOptions;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class GifFrameWriter implements FrameWriter<PackedFrame> {
+
+    private final Path gifPath;
+    private final ImageOptions options;
+    private final FrameRasterizer frameRasterizer;
+    private OutputStream outputStream;
+    private GifEncoder gifEncoder;
+
+    GifFrameWriter(Path gifPath, ImageOptions options, FrameRasterizer frameRasterizer) {
+        this.gifPath = gifPath;
+        this.options = options;
+        this.frameRasterizer = frameRasterizer;
+    }
+
+    @Override
+    public PackedFrame render(GraphFrame frame) {
+        return PackedFrame.of(frameRasterizer.rasterize(frame));
+    }
+
+    @Override
+    public void write(int frameNumber, PackedFrame frame) {
+        try {
+            if (gifEncoder == null) {
+                outputStream = new BufferedOutputStream(Files.newOutputStream(gifPath));
+                gifEncoder = new GifEncoder(outputStream, frame.width(), frame.height(), 0);
+            }
+            gifEncoder.addImage(frame.pixels(), frame.width(), options);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    void finish() {
+        if (gifEncoder == null) {
+            return;
+        }
+        try (OutputStream finishedOutputStream = outputStream) {
+            gifEncoder.finishEncoding();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            gifEncoder = null;
+            outputStream = null;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package de.klosebrothers.rendering;
+
+import de.klosebrothers.graph.Vertex;
+import de.klosebrothers.graph.WeightedEdge;
+import de.klosebrothers.graph.WeightedGraph;
+import java.util.List;
+
+record GraphFrame(String[] vertexNames, int[] edgeSources, int[] edgeDestinations, double[] edgeWeights) {
+
+    static GraphFrame of(WeightedGraph graph) {
+        List<Vertex> vertices = graph.getVertices();
+        String[] vertexNames = new String[vertices.size()];
+        int numberOfEdges = graph.getNumberOfEdges();
+        int[] edgeSources = new int[numberOfEdges];
+        int[] edgeDestinations = new int[numberOfEdges];
+        double[] edgeWeights = new double[numberOfEdges];
+        int edgeIndex = 0;
+        for (int vertexIndex = 0; vertexIndex < vertices.size(); vertexIndex++) {
+            Vertex vertex = vertices.get(vertexIndex);
+            vertexNames[vertexIndex] = vertex.getName();
+            for (WeightedEdge edge : vertex.getOutEdges().values()) {
+                edgeSources[edgeIndex] = vertexIndex;
+                edgeDestinations[edgeIndex] = edge.getDestination().getId();
+                edgeWeights[edgeIndex] = edge.getWeight();
+                edgeIndex++;
+            }
+        }
+        return new GraphFrame(vertexNames, edgeSources, edgeDestinations, edgeWeights);
+    }
+
+    int getNumberOfEdges() {
+        return edgeSources.length;
+    }
+}
@@ -0,0 +1,12 @@
+package de.klosebrothers.rendering;
+
+import java.awt.image.BufferedImage;
+
+record PackedFrame(int width, int height, int[] pixels) {
+
+    static PackedFrame of(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        return new PackedFrame(width, height, image.getRGB(0, 0, width, height, null, 0, width));
+    }
+}
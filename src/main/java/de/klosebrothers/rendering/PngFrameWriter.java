@@ -0,0 +1,40 @@
+package de.klosebrothers.rendering;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import javax.imageio.ImageIO;
+
+class PngFrameWriter implements FrameWriter<byte[]> {
+
+    private final String renderBasePath;
+    private final String fileBaseName;
+    private final FrameRasterizer frameRasterizer;
+
+    PngFrameWriter(String renderBasePath, String fileBaseName, FrameRasterizer frameRasterizer) {
+        this.renderBasePath = renderBasePath;
+        this.fileBaseName = fileBaseName;
+        this.frameRasterizer = frameRasterizer;
+    }
+
+    @Override
+    public byte[] render(GraphFrame frame) {
+        ByteArrayOutputStream encodedImage = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(frameRasterizer.rasterize(frame), "PNG", encodedImage);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return encodedImage.toByteArray();
+    }
+
+    @Override
+    public void write(int frameNumber, byte[] encodedImage) {
+        try {
+            Files.write(Paths.get(renderBasePath + fileBaseName + frameNumber + ".png"), encodedImage);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
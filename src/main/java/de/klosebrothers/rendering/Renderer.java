@@ -1,7 +1,6 @@
 package de.klosebrothers.rendering;
 
 
-import java.awt.Color;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.FileOutputStream;
@@ -13,18 +12,13 @@ import java.time.Duration;
 import java.util.Comparator;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
-import com.mxgraph.layout.mxCircleLayout;
-import com.mxgraph.layout.mxIGraphLayout;
-import com.mxgraph.util.mxCellRenderer;
 import com.squareup.gifencoder.FloydSteinbergDitherer;
 import com.squareup.gifencoder.GifEncoder;
 import com.squareup.gifencoder.ImageOptions;
 import de.klosebrothers.graph.WeightedGraph;
 import de.klosebrothers.util.DoubleUtil;
 import javax.imageio.ImageIO;
-import org.jgrapht.ext.JGraphXAdapter;
 import org.jgrapht.graph.DefaultWeightedEdge;
-import org.jgrapht.graph.SimpleDirectedWeightedGraph;
 
 
 public class Renderer {
@@ -33,34 +27,68 @@ public class Renderer {
     private final String fileBaseName;
     private int frameNumber;
     private final Duration frameDuration;
+    private final PngFrameWriter pngFrameWriter;
+    private final GifFrameWriter gifFrameWriter;
+    private final FrameRasterizer frameRasterizer;
+    private FrameOutput frameOutput;
+    private RenderingPolicy renderingPolicy;
+    private RenderingPipeline<?> pipeline;
 
     public Renderer( String renderBasePath, String fileBaseName, int frameRatePerSecond) {
         this.renderBasePath = renderBasePath;
         this.frameNumber = 0;
         this.fileBaseName = fileBaseName;
         this.frameDuration = Duration.ofMillis(1000 / Math.max(frameRatePerSecond, 1));
+        frameRasterizer = new FrameRasterizer();
+        pngFrameWriter = new PngFrameWriter(renderBasePath, fileBaseName, frameRasterizer);
+        gifFrameWriter = new GifFrameWriter(Paths.get(renderBasePath + fileBaseName + ".gif"), getGifOptions(), frameRasterizer);
+        frameOutput = FrameOutput.PNG_FILES;
+    }
+
+    public void setFrameOutput(FrameOutput frameOutput) {
+        closePipeline();
+        this.frameOutput = frameOutput;
+        pipeline = renderingPolicy == null ? null : new RenderingPipeline<>(renderingPolicy, getFrameWriter());
+    }
+
+    public void renderAsynchronously(RenderingPolicy policy) {
+        closePipeline();
+        renderingPolicy = policy;
+        pipeline = new RenderingPipeline<>(policy, getFrameWriter());
+    }
+
+    public int getNumberOfDroppedFrames() {
+        return pipeline == null ? 0 : pipeline.getNumberOfDroppedFrames();
     }
 
     public void renderPng(WeightedGraph graph) {
-        JGraphXAdapter<String, WeightedEdge> graphAdapter = new JGraphXAdapter<>(convertToJGraphRepresentation(graph));
-        mxIGraphLayout layout = new mxCircleLayout(graphAdapter);
-        layout.execute(graphAdapter.getDefaultParent());
-        BufferedImage image = mxCellRenderer.createBufferedImage(graphAdapter, null, 2, Color.WHITE, true, null);
-        File imageFile = new File(renderBasePath + fileBaseName + frameNumber + ".png");
-        try {
-            ImageIO.write(image, "PNG", imageFile);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        GraphFrame frame = GraphFrame.of(graph);
+        if (pipeline == null) {
+            renderAndWrite(getFrameWriter(), frameNumber, frame);
+        } else {
+            pipeline.submit(frameNumber, frame);
         }
         frameNumber++;
     }
 
+    public void awaitRenderedFrames() {
+        try {
+            if (pipeline != null) {
+                pipeline.finish();
+            }
+        } finally {
+            frameRasterizer.releaseGraphView();
+        }
+    }
+
     public void renderGif() {
+        awaitRenderedFrames();
+        if (frameOutput == FrameOutput.GIF_STREAM) {
+            gifFrameWriter.finish();
+            return;
+        }
         try (FileOutputStream outputStream = new FileOutputStream(renderBasePath + fileBaseName + ".gif")) {
-            ImageOptions options = new ImageOptions();
-
-            options.setDelay(frameDuration.toMillis(), TimeUnit.MILLISECONDS);
-            options.setDitherer(FloydSteinbergDitherer.INSTANCE);
+            ImageOptions options = getGifOptions();
 
             File firstFrame = new File(renderBasePath + fileBaseName + 0 + ".png");
             int[][] imageDimensionsFirstFrame = convertImageToArray(firstFrame);
@@ -92,6 +120,27 @@ public class Renderer {
         }
     }
 
+    private void closePipeline() {
+        if (pipeline != null) {
+            pipeline.close();
+        }
+    }
+
+    private FrameWriter<?> getFrameWriter() {
+        return frameOutput == FrameOutput.GIF_STREAM ? gifFrameWriter : pngFrameWriter;
+    }
+
+    private static <T> void renderAndWrite(FrameWriter<T> frameWriter, int frameNumber, GraphFrame frame) {
+        frameWriter.write(frameNumber, frameWriter.render(frame));
+    }
+
+    private ImageOptions getGifOptions() {
+        ImageOptions options = new ImageOptions();
+        options.setDelay(frameDuration.toMillis(), TimeUnit.MILLISECONDS);
+        options.setDitherer(FloydSteinbergDitherer.INSTANCE);
+        return options;
+    }
+
     private static int getFileNumber(String name) {
         return Integer.parseInt(name.replaceAll("[^0-9]",""));
     }
@@ -103,27 +152,14 @@ public class Renderer {
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
-        int[][] rgbArray = new int[bufferedImage.getHeight()][bufferedImage.getWidth()];
+        int width = bufferedImage.getWidth();
+        int[][] rgbArray = new int[bufferedImage.getHeight()][];
         for (int i = 0; i < bufferedImage.getHeight(); i++) {
-            for (int j = 0; j < bufferedImage.getWidth(); j++) {
-                rgbArray[i][j] = bufferedImage.getRGB(j, i);
-            }
+            rgbArray[i] = bufferedImage.getRGB(0, i, width, 1, null, 0, width);
         }
         return rgbArray;
     }
 
-    private static SimpleDirectedWeightedGraph<String, WeightedEdge> convertToJGraphRepresentation(WeightedGraph inputGraph) {
-        SimpleDirectedWeightedGraph<String, WeightedEdge> jGraph = new SimpleDirectedWeightedGraph<>(WeightedEdge.class);
-        inputGraph.getVertices().forEach(vertex -> jGraph.addVertex(vertex.getName()));
-        inputGraph.getVertices().stream().flatMap(vertex -> vertex.getOutEdges().values().stream())
-                .forEach(edge -> {
-                    WeightedEdge newEdge = jGraph.addEdge(edge.getSource().getName(), edge.getDestination()
-                            .getName());
-                    jGraph.setEdgeWeight(newEdge, edge.getWeight());
-                });
-        return jGraph;
-    }
-
     private static boolean isPngFile(File file) {
         return file.getName().endsWith(".png");
     }
@@ -0,0 +1,90 @@
+package de.klosebrothers.rendering;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+class RenderingPipeline<T> {
+
+    private static final Duration WORKER_KEEP_ALIVE = Duration.ofSeconds(30);
+
+    private final RenderingPolicy policy;
+    private final FrameWriter<T> frameWriter;
+    private final ExecutorService workers;
+    private final Semaphore pendingFrames;
+    private CompletableFuture<Void> lastSunkFrame;
+    private GraphFrame lastDroppedFrame;
+    private int lastDroppedFrameNumber;
+    private int numberOfDroppedFrames;
+
+    RenderingPipeline(RenderingPolicy policy, FrameWriter<T> frameWriter) {
+        this.policy = policy;
+        this.frameWriter = frameWriter;
+        ThreadPoolExecutor workerPool = new ThreadPoolExecutor(policy.numberOfWorkers(), policy.numberOfWorkers(),
+                WORKER_KEEP_ALIVE.toMillis(), TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread worker = new Thread(runnable, "frame-renderer");
+            worker.setDaemon(true);
+            return worker;
+        });
+        workerPool.allowCoreThreadTimeOut(true);
+        workers = workerPool;
+        pendingFrames = new Semaphore(policy.maximumPendingFrames());
+        lastSunkFrame = CompletableFuture.completedFuture(null);
+    }
+
+    void submit(int frameNumber, GraphFrame frame) {
+        if (policy.backpressurePolicy() == BackpressurePolicy.BLOCK) {
+            pendingFrames.acquireUninterruptibly();
+        } else if (!pendingFrames.tryAcquire()) {
+            lastDroppedFrame = frame;
+            lastDroppedFrameNumber = frameNumber;
+            numberOfDroppedFrames++;
+            return;
+        }
+        lastDroppedFrame = null;
+        enqueue(frameNumber, frame);
+    }
+
+    void finish() {
+        if (lastDroppedFrame != null) {
+            pendingFrames.acquireUninterruptibly();
+            enqueue(lastDroppedFrameNumber, lastDroppedFrame);
+            numberOfDroppedFrames--;
+            lastDroppedFrame = null;
+        }
+        try {
+            lastSunkFrame.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new RuntimeException(e.getCause());
+        } finally {
+            lastSunkFrame = CompletableFuture.completedFuture(null);
+        }
+    }
+
+    void close() {
+        try {
+            finish();
+        } finally {
+            workers.shutdown();
+        }
+    }
+
+    int getNumberOfDroppedFrames() {
+        return numberOfDroppedFrames;
+    }
+
+    private void enqueue(int frameNumber, GraphFrame frame) {
+        CompletableFuture<T> renderedFrame = CompletableFuture.supplyAsync(() -> frameWriter.render(frame), workers);
+        lastSunkFrame = lastSunkFrame
+                .thenCombine(renderedFrame, (ignored, rendered) -> {
+                    frameWriter.write(frameNumber, rendered);
+                    return (Void) null;
+                })
+                .whenComplete((ignored, failure) -> pendingFrames.release());
+    }
+}
@@ -0,0 +1,17 @@
+package de.klosebrothers.rendering;
+
+public record RenderingPolicy(int numberOfWorkers, int maximumPendingFrames, BackpressurePolicy backpressurePolicy) {
+
+    public RenderingPolicy {
+        if (numberOfWorkers <= 0) {
+            throw new IllegalArgumentException("number of workers must be positive but was " + numberOfWorkers);
+        }
+        if (maximumPendingFrames <= 0) {
+            throw new IllegalArgumentException("maximum pending frames must be positive but was " + maximumPendingFrames);
+        }
+    }
+
+    public static RenderingPolicy ofWorkers(int numberOfWorkers) {
+        return new RenderingPolicy(numberOfWorkers, 4 * numberOfWorkers, BackpressurePolicy.BLOCK);
+    }
+}
@@ -5,6 +5,8 @@ import java.math.RoundingMode;
 
 public class DoubleUtil {
 
+    private static final int MINOR_UNITS_PER_UNIT = 100;
+
     private DoubleUtil(){
     }
 
@@ -13,4 +15,25 @@ public class DoubleUtil {
         bd = bd.setScale(2, RoundingMode.HALF_UP);
         return bd.doubleValue();
     }
+
+    public static long toMinorUnits(double value) {
+        return Math.round(value * MINOR_UNITS_PER_UNIT);
+    }
+
+    public static double fromMinorUnits(long minorUnits) {
+        return (double) minorUnits / MINOR_UNITS_PER_UNIT;
+    }
+
+    public static long[] splitMinorUnits(long minorUnits, int numberOfShares) {
+        long[] shares = new long[numberOfShares];
+        if (numberOfShares == 0) {
+            return shares;
+        }
+        long share = Math.floorDiv(minorUnits, numberOfShares);
+        long remainder = Math.floorMod(minorUnits, numberOfShares);
+        for (int shareIndex = 0; shareIndex < numberOfShares; shareIndex++) {
+            shares[shareIndex] = shareIndex < remainder ? share + 1 : share;
+        }
+        return shares;
+    }
 }
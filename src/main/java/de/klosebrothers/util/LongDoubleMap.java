@@ -0,0 +1,93 @@
+package de.klosebrothers.util;
+
+import java.util.Arrays;
+
+public class LongDoubleMap {
+
+    private static final long EMPTY_KEY = Long.MIN_VALUE;
+    private static final int MINIMUM_CAPACITY = 16;
+
+    private long[] keys;
+    private double[] values;
+    private int size;
+
+    public LongDoubleMap() {
+        this(MINIMUM_CAPACITY);
+    }
+
+    public LongDoubleMap(int expectedSize) {
+        allocate(Math.max(MINIMUM_CAPACITY, Integer.highestOneBit(Math.max(1, expectedSize) * 2 - 1) << 1));
+    }
+
+    public void add(long key, double value) {
+        if (key == EMPTY_KEY) {
+            throw new IllegalArgumentException("key " + key + " is reserved");
+        }
+        int slot = getSlot(key);
+        if (keys[slot] == EMPTY_KEY) {
+            keys[slot] = key;
+            values[slot] = value;
+            size++;
+            if (2 * size > keys.length) {
+                grow();
+            }
+            return;
+        }
+        values[slot] += value;
+    }
+
+    public double get(long key) {
+        int slot = getSlot(key);
+        return keys[slot] == key ? values[slot] : 0.0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY_KEY);
+        size = 0;
+    }
+
+    public void forEach(LongDoubleConsumer consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY_KEY) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    private int getSlot(long key) {
+        int mask = keys.length - 1;
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        while (keys[slot] != EMPTY_KEY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        allocate(2 * oldKeys.length);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY_KEY) {
+                int newSlot = getSlot(oldKeys[slot]);
+                keys[newSlot] = oldKeys[slot];
+                values[newSlot] = oldValues[slot];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new double[capacity];
+        Arrays.fill(keys, EMPTY_KEY);
+    }
+
+    @FunctionalInterface
+    public interface LongDoubleConsumer {
+        void accept(long key, double value);
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import de.klosebrothers.graph.CompactGraph;
 import de.klosebrothers.graph.Vertex;
 import de.klosebrothers.graph.WeightedGraph;
 import org.junit.jupiter.api.Test;
@@ -70,4 +71,46 @@ class AlternativePathDetectorTest {
         assertThat(alternativePath).isPresent();
         assertThat(alternativePath.get()).contains(vertexA, vertexB, vertexC);
     }
+
+    @Test
+    void itShouldFindAlternativePathInCompactGraph() {
+        WeightedGraph graph = new WeightedGraph();
+
+        Vertex vertexA = new Vertex("A");
+        Vertex vertexB = new Vertex("B");
+        Vertex vertexC = new Vertex("C");
+
+        graph.addVertex(vertexA);
+        graph.addVertex(vertexB);
+        graph.addVertex(vertexC);
+
+        graph.addEdge(vertexA, vertexB, 1.0);
+        graph.addEdge(vertexA, vertexC, 1.0);
+        graph.addEdge(vertexB, vertexC, 2.0);
+
+        Optional<List<Vertex>> alternativePath = AlternativePathDetector.getAlternativePath(CompactGraph.of(graph));
+
+        assertThat(alternativePath).isPresent();
+        assertThat(alternativePath.get()).containsExactly(vertexA, vertexB, vertexC);
+    }
+
+    @Test
+    void itShouldFindAlternativePathAlongVeryLongChainWithoutOverflowingStack() {
+        WeightedGraph graph = new WeightedGraph();
+        Vertex firstVertex = new Vertex("0");
+        graph.addVertex(firstVertex);
+        Vertex previousVertex = firstVertex;
+        for (int vertexIndex = 1; vertexIndex < 100_000; vertexIndex++) {
+            Vertex vertex = new Vertex(String.valueOf(vertexIndex));
+            graph.addVertex(vertex);
+            graph.addEdge(previousVertex, vertex, 1.0);
+            previousVertex = vertex;
+        }
+        graph.addEdge(firstVertex, previousVertex, 1.0);
+
+        Optional<List<Vertex>> alternativePath = AlternativePathDetector.getAlternativePath(graph);
+
+        assertThat(alternativePath).isPresent();
+        assertThat(alternativePath.get()).hasSize(100_000);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package de.klosebrothers.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.klosebrothers.graph.CompactGraph;
+import de.klosebrothers.graph.Vertex;
+import de.klosebrothers.graph.WeightedGraph;
+import org.junit.jupiter.api.Test;
+
+class CycleCancellerTest {
+
+    @Test
+    void itShouldNotCancelAnythingInAcyclicGraph() {
+        WeightedGraph graph = new WeightedGraph();
+        Vertex vertexA = new Vertex("A");
+        Vertex vertexB = new Vertex("B");
+
+        graph.addVertex(vertexA);
+        graph.addVertex(vertexB);
+        graph.addEdge(vertexA, vertexB, 1.0);
+
+        int cancelledCycles = CycleCanceller.cancelAllCycles(graph, CompactGraph.of(graph), getAllVertices(graph), cycle -> {
+        });
+
+        assertThat(cancelledCycles).isZero();
+        assertThat(vertexA.getOutEdgeToVertex(vertexB)).isPresent();
+    }
+
+    @Test
+    void itShouldCancelAllCyclesOfOverlappingComponentsWhileRetainingInfluxes() {
+        WeightedGraph graph = new WeightedGraph();
+        Vertex vertexA = new Vertex("A");
+        Vertex vertexB = new Vertex("B");
+        Vertex vertexC = new Vertex("C");
+        Vertex vertexD = new Vertex("D");
+        Vertex vertexE = new Vertex("E");
+
+        graph.addVertex(vertexA);
+        graph.addVertex(vertexB);
+        graph.addVertex(vertexC);
+        graph.addVertex(vertexD);
+        graph.addVertex(vertexE);
+        graph.addEdge(vertexA, vertexB, 16.0);
+        graph.addEdge(vertexB, vertexC, 10.0);
+        graph.addEdge(vertexC, vertexA, 10.0);
+        graph.addEdge(vertexB, vertexA, 5.0);
+        graph.addEdge(vertexC, vertexD, 3.0);
+        graph.addEdge(vertexD, vertexE, 2.0);
+        graph.addEdge(vertexE, vertexD, 4.0);
+        List<List<Vertex>> cancelledCycles = new ArrayList<>();
+
+        CycleCanceller.cancelAllCycles(graph, CompactGraph.of(graph), getAllVertices(graph), cancelledCycles::add);
+
+        assertThat(CycleDetector.getCycle(graph)).isEmpty();
+        assertThat(cancelledCycles).hasSize(3);
+        assertThat(vertexA.getInflux()).isEqualTo(-1.0);
+        assertThat(vertexB.getInflux()).isOne();
+        assertThat(vertexC.getInflux()).isEqualTo(-3.0);
+        assertThat(vertexD.getInflux()).isEqualTo(5.0);
+        assertThat(vertexE.getInflux()).isEqualTo(-2.0);
+    }
+
+    @Test
+    void itShouldOnlyCancelCyclesReachableFromStartVertices() {
+        WeightedGraph graph = new WeightedGraph();
+        Vertex vertexA = new Vertex("A");
+        Vertex vertexB = new Vertex("B");
+        Vertex vertexC = new Vertex("C");
+
+        graph.addVertex(vertexA);
+        graph.addVertex(vertexB);
+        graph.addVertex(vertexC);
+        graph.addEdge(vertexA, vertexB, 1.0);
+        graph.addEdge(vertexB, vertexC, 1.0);
+        graph.addEdge(vertexC, vertexB, 1.0);
+
+        int cancelledCycles = CycleCanceller.cancelAllCycles(graph, CompactGraph.of(graph), new boolean[]{false, false, false}, cycle -> {
+        });
+
+        assertThat(cancelledCycles).isZero();
+        assertThat(CycleDetector.getCycle(graph)).isNotEmpty();
+    }
+
+    private static boolean[] getAllVertices(WeightedGraph graph) {
+        boolean[] allVertices = new boolean[graph.getNumberOfVertices()];
+        Arrays.fill(allVertices, true);
+        return allVertices;
+    }
+}
@@ -4,6 +4,7 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import de.klosebrothers.graph.CompactGraph;
 import de.klosebrothers.graph.Vertex;
 import de.klosebrothers.graph.WeightedGraph;
 import org.junit.jupiter.api.Test;
@@ -138,4 +139,63 @@ class CycleDetectorTest {
         assertThat(cycleVertices).contains(vertexB, vertexC, vertexD);
     }
 
+    @Test
+    void itShouldReturnCycleForCompactGraphWithCycle() {
+        WeightedGraph graph = new WeightedGraph();
+        Vertex vertexA = new Vertex("A");
+        Vertex vertexB = new Vertex("B");
+        Vertex vertexC = new Vertex("C");
+        Vertex vertexD = new Vertex("D");
+
+        graph.addVertex(vertexA);
+        graph.addVertex(vertexB);
+        graph.addVertex(vertexC);
+        graph.addVertex(vertexD);
+        graph.addEdge(vertexA, vertexB, 0.0);
+        graph.addEdge(vertexB, vertexC, 0.0);
+        graph.addEdge(vertexC, vertexD, 0.0);
+        graph.addEdge(vertexD, vertexB, 0.0);
+
+        List<Vertex> cycleVertices = CycleDetector.getCycle(CompactGraph.of(graph));
+
+        assertThat(cycleVertices).containsExactly(vertexB, vertexC, vertexD);
+    }
+
+    @Test
+    void itShouldOnlySearchCyclesFromGivenStartVertices() {
+        WeightedGraph graph = new WeightedGraph();
+        Vertex vertexA = new Vertex("A");
+        Vertex vertexB = new Vertex("B");
+        Vertex vertexC = new Vertex("C");
+
+        graph.addVertex(vertexA);
+        graph.addVertex(vertexB);
+        graph.addVertex(vertexC);
+        graph.addEdge(vertexA, vertexB, 0.0);
+        graph.addEdge(vertexB, vertexA, 0.0);
+        graph.addEdge(vertexB, vertexC, 0.0);
+
+        List<Vertex> cycleVertices = CycleDetector.getCycle(CompactGraph.of(graph), new boolean[]{false, false, true});
+
+        assertThat(cycleVertices).isEmpty();
+    }
+
+    @Test
+    void itShouldFindCycleAlongVeryLongChainWithoutOverflowingStack() {
+        WeightedGraph graph = new WeightedGraph();
+        Vertex firstVertex = new Vertex("0");
+        graph.addVertex(firstVertex);
+        Vertex previousVertex = firstVertex;
+        for (int vertexIndex = 1; vertexIndex < 100_000; vertexIndex++) {
+            Vertex vertex = new Vertex(String.valueOf(vertexIndex));
+            graph.addVertex(vertex);
+            graph.addEdge(previousVertex, vertex, 1.0);
+            previousVertex = vertex;
+        }
+        graph.addEdge(previousVertex, firstVertex, 1.0);
+
+        List<Vertex> cycleVertices = CycleDetector.getCycle(graph);
+
+        assertThat(cycleVertices).hasSize(100_000);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package de.klosebrothers.algorithm;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class ExactSettlerTest {
+
+    @Test
+    void itShouldReturnNoTransfersForSettledBalances() {
+        List<Transfer> transfers = ExactSettler.settle(new long[]{0, 0, 0});
+
+        assertThat(transfers).isEmpty();
+    }
+
+    @Test
+    void itShouldSettleOppositeBalancesDirectly() {
+        List<Transfer> transfers = ExactSettler.settle(new long[]{-5, 3, 5, -3});
+
+        assertThat(transfers).containsExactlyInAnyOrder(new Transfer(0, 2, 5), new Transfer(3, 1, 3));
+    }
+
+    @Test
+    void itShouldFindMinimumNumberOfTransfersWhereGreedySettlementDoesNot() {
+        long[] balances = {-6, -4, 4, 3, 3};
+
+        List<Transfer> transfers = ExactSettler.settle(balances);
+
+        assertThat(transfers).hasSize(3);
+        assertThat(getRemainingBalances(balances, transfers)).containsExactly(0L, 0L, 0L, 0L, 0L);
+    }
+
+    @Test
+    void itShouldSettleRandomBalancesWithinMaximumSize() {
+        Random random = new Random(1337);
+        long[] balances = new long[ExactSettler.MAXIMUM_NUMBER_OF_OPEN_BALANCES];
+        for (int participant = 0; participant < balances.length - 1; participant++) {
+            balances[participant] = random.nextInt(-20, 20) * 100L + 1;
+            balances[balances.length - 1] -= balances[participant];
+        }
+
+        List<Transfer> transfers = ExactSettler.settle(balances);
+
+        assertThat(transfers.size()).isLessThan(balances.length);
+        assertThat(getRemainingBalances(balances, transfers)).containsOnly(0L);
+    }
+
+    private static long[] getRemainingBalances(long[] balances, List<Transfer> transfers) {
+        long[] remainingBalances = balances.clone();
+        transfers.forEach(transfer -> {
+            assertThat(transfer.amount()).isPositive();
+            remainingBalances[transfer.creditor()] += transfer.amount();
+            remainingBalances[transfer.debtor()] -= transfer.amount();
+        });
+        return remainingBalances;
+    }
+
+    @Test
+    void itShouldNotSettleMoreOpenBalancesThanSupported() {
+        long[] balances = new long[ExactSettler.MAXIMUM_NUMBER_OF_OPEN_BALANCES + 2];
+        for (int participant = 0; participant < balances.length - 1; participant++) {
+            balances[participant] = participant + 1L;
+            balances[balances.length - 1] -= participant + 1L;
+        }
+
+        Optional<List<Transfer>> transfersMaybe = ExactSettler.trySettle(balances);
+
+        assertThat(transfersMaybe).isEmpty();
+        assertThatThrownBy(() -> ExactSettler.settle(balances)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
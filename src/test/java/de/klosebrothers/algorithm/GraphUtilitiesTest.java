@@ -91,4 +91,48 @@ class GraphUtilitiesTest {
 
         assertThat(smallestWeightOfCycle).isOne();
     }
-}
\ No newline at end of file
+
+    @Test
+    void itShouldReturnVerticesReachingGivenVertices() {
+        WeightedGraph graph = new WeightedGraph();
+        Vertex vertexA = new Vertex("A");
+        Vertex vertexB = new Vertex("B");
+        Vertex vertexC = new Vertex("C");
+        Vertex vertexD = new Vertex("D");
+
+        graph.addVertex(vertexA);
+        graph.addVertex(vertexB);
+        graph.addVertex(vertexC);
+        graph.addVertex(vertexD);
+        graph.addEdge(vertexA, vertexB, 1.0);
+        graph.addEdge(vertexB, vertexC, 1.0);
+        graph.addEdge(vertexC, vertexD, 1.0);
+
+        boolean[] reachingVertices = GraphUtilities.getVerticesReachingAny(graph, List.of(vertexB));
+
+        assertThat(reachingVertices).containsExactly(true, true, false, false);
+    }
+
+    @Test
+    void itShouldReturnWeaklyConnectedComponentsInVertexOrder() {
+        WeightedGraph graph = new WeightedGraph();
+        Vertex vertexA = new Vertex("A");
+        Vertex vertexB = new Vertex("B");
+        Vertex vertexC = new Vertex("C");
+        Vertex vertexD = new Vertex("D");
+        Vertex vertexE = new Vertex("E");
+
+        graph.addVertex(vertexA);
+        graph.addVertex(vertexB);
+        graph.addVertex(vertexC);
+        graph.addVertex(vertexD);
+        graph.addVertex(vertexE);
+        graph.addEdge(vertexD, vertexA, 1.0);
+        graph.addEdge(vertexB, vertexE, 1.0);
+        graph.addEdge(vertexC, vertexE, 1.0);
+
+        List<List<Vertex>> components = GraphUtilities.getWeaklyConnectedComponents(graph);
+
+        assertThat(components).containsExactly(List.of(vertexA, vertexD), List.of(vertexB, vertexC, vertexE));
+    }
+}
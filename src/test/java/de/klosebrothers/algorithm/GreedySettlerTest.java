@@ -0,0 +1,56 @@
+package de.klosebrothers.algorithm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.klosebrothers.graph.Vertex;
+import de.klosebrothers.graph.WeightedGraph;
+import org.junit.jupiter.api.Test;
+
+class GreedySettlerTest {
+
+    @Test
+    void itShouldNotCreateEdgesForSettledGraph() {
+        WeightedGraph graph = new WeightedGraph();
+        Vertex vertexA = new Vertex("A");
+        Vertex vertexB = new Vertex("B");
+
+        graph.addVertex(vertexA);
+        graph.addVertex(vertexB);
+        graph.addEdge(vertexA, vertexB, 2.0);
+        graph.addEdge(vertexB, vertexA, 2.0);
+
+        GreedySettler.settle(graph);
+
+        assertThat(vertexA.getOutEdges()).isEmpty();
+        assertThat(vertexB.getOutEdges()).isEmpty();
+    }
+
+    @Test
+    void itShouldSettleLargestCreditorAgainstLargestDebtor() {
+        WeightedGraph graph = new WeightedGraph();
+        Vertex vertexA = new Vertex("A");
+        Vertex vertexB = new Vertex("B");
+        Vertex vertexC = new Vertex("C");
+        Vertex vertexD = new Vertex("D");
+
+        graph.addVertex(vertexA);
+        graph.addVertex(vertexB);
+        graph.addVertex(vertexC);
+        graph.addVertex(vertexD);
+        graph.addEdge(vertexA, vertexB, 5.0);
+        graph.addEdge(vertexB, vertexC, 5.0);
+        graph.addEdge(vertexC, vertexD, 3.0);
+
+        GreedySettler.settle(graph);
+
+        assertThat(vertexA.getOutEdgeToVertex(vertexD)).isPresent();
+        assertThat(vertexA.getOutEdgeToVertex(vertexD).get().getWeight()).isEqualTo(3.0);
+        assertThat(vertexA.getOutEdgeToVertex(vertexC)).isPresent();
+        assertThat(vertexA.getOutEdgeToVertex(vertexC).get().getWeight()).isEqualTo(2.0);
+        assertThat(vertexB.getOutEdges()).isEmpty();
+        assertThat(vertexA.getInflux()).isEqualTo(-5.0);
+        assertThat(vertexB.getInflux()).isZero();
+        assertThat(vertexC.getInflux()).isEqualTo(2.0);
+        assertThat(vertexD.getInflux()).isEqualTo(3.0);
+    }
+}
@@ -1,10 +1,15 @@
 package de.klosebrothers.algorithm;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import de.klosebrothers.graph.CompactGraph;
 import de.klosebrothers.graph.Vertex;
 import de.klosebrothers.graph.WeightedEdge;
 import de.klosebrothers.graph.WeightedGraph;
@@ -124,4 +129,144 @@ class MaximumChainDetectorTest {
         assertThat(chain.get()).contains(firstChainEdge, sedondChainEdge, thirdChainEdge, fourthChainEdge, fithChainEdge);
     }
 
-}
\ No newline at end of file
+    @Test
+    void itShouldReturnSameChainForCompactGraph() {
+        WeightedGraph graph = new WeightedGraph();
+
+        Vertex vertexA = new Vertex("A");
+        Vertex vertexB = new Vertex("B");
+        Vertex vertexC = new Vertex("C");
+        Vertex vertexD = new Vertex("D");
+        Vertex vertexE = new Vertex("E");
+        Vertex vertexF = new Vertex("F");
+        Vertex vertexG = new Vertex("G");
+        Vertex vertexH = new Vertex("H");
+
+        graph.addVertex(vertexA);
+        graph.addVertex(vertexB);
+        graph.addVertex(vertexC);
+        graph.addVertex(vertexD);
+        graph.addVertex(vertexE);
+        graph.addVertex(vertexF);
+        graph.addVertex(vertexG);
+        graph.addVertex(vertexH);
+        graph.addEdge(vertexA, vertexB, 2.0);
+        graph.addEdge(vertexB, vertexG, 2.0);
+        graph.addEdge(vertexG, vertexD, 1.0);
+        graph.addEdge(vertexD, vertexE, 2.0);
+        graph.addEdge(vertexE, vertexF, 2.0);
+
+        graph.addEdge(vertexB, vertexC, 2.0);
+        graph.addEdge(vertexC, vertexH, 2.0);
+        graph.addEdge(vertexH, vertexF, 3.0);
+
+        Optional<List<WeightedEdge>> chain = MaximumChainDetector.getMaximumChain(CompactGraph.of(graph));
+
+        assertThat(chain).isEqualTo(MaximumChainDetector.getMaximumChain(graph));
+    }
+
+    @Test
+    void itShouldFindChainAlongVeryLongAcyclicPath() {
+        WeightedGraph graph = new WeightedGraph();
+        Vertex previousVertex = new Vertex("0");
+        graph.addVertex(previousVertex);
+        for (int index = 1; index <= 100_000; index++) {
+            Vertex vertex = new Vertex(String.valueOf(index));
+            graph.addVertex(vertex);
+            graph.addEdge(previousVertex, vertex, 1.0);
+            previousVertex = vertex;
+        }
+
+        Optional<List<WeightedEdge>> chain = MaximumChainDetector.getMaximumChain(CompactGraph.of(graph));
+
+        assertThat(chain).isPresent();
+        assertThat(chain.get()).hasSize(100_000);
+    }
+
+    @Test
+    void itShouldReturnBestChainFoundWithinBudgetForDenseCyclicGraph() {
+        WeightedGraph graph = new WeightedGraph();
+        List<Vertex> vertices = new ArrayList<>();
+        for (int index = 0; index < 14; index++) {
+            Vertex vertex = new Vertex(String.valueOf(index));
+            graph.addVertex(vertex);
+            vertices.add(vertex);
+        }
+        for (Vertex source : vertices) {
+            for (Vertex destination : vertices) {
+                if (source != destination) {
+                    graph.addEdge(source, destination, 1.0 + (source.getId() + destination.getId()) % 2);
+                }
+            }
+        }
+        boolean[] startVertices = new boolean[vertices.size()];
+        Arrays.fill(startVertices, true);
+
+        Optional<List<WeightedEdge>> chain = MaximumChainDetector.getMaximumChain(CompactGraph.of(graph), startVertices, ChainSearchBudget.ofNodes(10_000));
+
+        assertThat(chain).isPresent();
+        assertThat(chain.get().size()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void itShouldReportExhaustedBudgetForDenseCyclicGraph() {
+        WeightedGraph graph = new WeightedGraph();
+        List<Vertex> vertices = new ArrayList<>();
+        for (int index = 0; index < 14; index++) {
+            Vertex vertex = new Vertex(String.valueOf(index));
+            graph.addVertex(vertex);
+            vertices.add(vertex);
+        }
+        for (Vertex source : vertices) {
+            for (Vertex destination : vertices) {
+                if (source != destination) {
+                    graph.addEdge(source, destination, 1.0 + (source.getId() + destination.getId()) % 2);
+                }
+            }
+        }
+        boolean[] startVertices = new boolean[vertices.size()];
+        Arrays.fill(startVertices, true);
+
+        ChainSearchResult result = MaximumChainDetector.searchMaximumChain(CompactGraph.of(graph), startVertices, ChainSearchBudget.ofNodes(1), null);
+
+        assertThat(result.exhausted()).isTrue();
+        assertThat(result.isChainFree()).isFalse();
+    }
+
+    @Test
+    void itShouldReturnSameChainForParallelSearch() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int numberOfVertices : new int[]{200, 50}) {
+                CompactGraph compactGraph = createRandomAcyclicGraph(numberOfVertices, 5 * numberOfVertices);
+                boolean[] startVertices = new boolean[numberOfVertices];
+                Arrays.fill(startVertices, true);
+
+                Optional<List<WeightedEdge>> sequentialChain = MaximumChainDetector.getMaximumChain(compactGraph, startVertices, ChainSearchBudget.UNLIMITED);
+                Optional<List<WeightedEdge>> parallelChain = MaximumChainDetector.getMaximumChain(compactGraph, startVertices, ChainSearchBudget.UNLIMITED, pool);
+
+                assertThat(parallelChain).isPresent();
+                assertThat(parallelChain).isEqualTo(sequentialChain);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static CompactGraph createRandomAcyclicGraph(int numberOfVertices, int numberOfEdges) {
+        WeightedGraph graph = new WeightedGraph();
+        List<Vertex> vertices = new ArrayList<>();
+        for (int index = 0; index < numberOfVertices; index++) {
+            Vertex vertex = new Vertex(String.valueOf(index));
+            graph.addVertex(vertex);
+            vertices.add(vertex);
+        }
+        Random random = new Random(42);
+        for (int index = 0; index < numberOfEdges; index++) {
+            int source = random.nextInt(vertices.size() - 1);
+            int destination = source + 1 + random.nextInt(vertices.size() - source - 1);
+            graph.addEdge(vertices.get(source), vertices.get(destination), 1.0 + random.nextInt(5));
+        }
+        return CompactGraph.of(graph);
+    }
+}
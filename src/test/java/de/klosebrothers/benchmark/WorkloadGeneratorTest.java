@@ -0,0 +1,30 @@
+package de.klosebrothers.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.klosebrothers.minimumtransactions.Payments;
+import org.junit.jupiter.api.Test;
+
+class WorkloadGeneratorTest {
+
+    @Test
+    void itShouldGenerateSameWorkloadForSameSeed() {
+        Workload firstWorkload = new WorkloadGenerator(42, 500).generate(WorkloadShape.MIXED, 2_000);
+        Workload secondWorkload = new WorkloadGenerator(42, 500).generate(WorkloadShape.MIXED, 2_000);
+        Workload otherSeedWorkload = new WorkloadGenerator(43, 500).generate(WorkloadShape.MIXED, 2_000);
+
+        String firstPayments = getRegisteredPayments(firstWorkload);
+        String secondPayments = getRegisteredPayments(secondWorkload);
+        String otherSeedPayments = getRegisteredPayments(otherSeedWorkload);
+
+        assertThat(secondWorkload.getNumberOfPayments()).isEqualTo(firstWorkload.getNumberOfPayments());
+        assertThat(secondPayments).isEqualTo(firstPayments);
+        assertThat(otherSeedPayments).isNotEqualTo(firstPayments);
+    }
+
+    private static String getRegisteredPayments(Workload workload) {
+        Payments payments = new Payments();
+        workload.registerInto(payments);
+        return payments.getResolvingPayments();
+    }
+}
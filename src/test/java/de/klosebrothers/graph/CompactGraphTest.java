@@ -0,0 +1,88 @@
+package de.klosebrothers.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class CompactGraphTest {
+
+    @Test
+    void itShouldCreateEmptySnapshotForEmptyGraph() {
+        CompactGraph compactGraph = CompactGraph.of(new WeightedGraph());
+
+        assertThat(compactGraph.getNumberOfVertices()).isZero();
+        assertThat(compactGraph.getNumberOfEdges()).isZero();
+    }
+
+    @Test
+    void itShouldStoreOutEdgesInCompressedRows() {
+        WeightedGraph graph = new WeightedGraph();
+        Vertex vertexA = new Vertex("A");
+        Vertex vertexB = new Vertex("B");
+        Vertex vertexC = new Vertex("C");
+
+        graph.addVertex(vertexA);
+        graph.addVertex(vertexB);
+        graph.addVertex(vertexC);
+        WeightedEdge edge = graph.addEdge(vertexB, vertexC, 2.0);
+
+        CompactGraph compactGraph = CompactGraph.of(graph);
+
+        assertThat(compactGraph.getNumberOfVertices()).isEqualTo(3);
+        assertThat(compactGraph.getNumberOfEdges()).isOne();
+        assertThat(compactGraph.getOutDegree(0)).isZero();
+        assertThat(compactGraph.getOutDegree(1)).isOne();
+        assertThat(compactGraph.getTarget(compactGraph.getEdgesBegin(1))).isEqualTo(2);
+        assertThat(compactGraph.getWeight(compactGraph.getEdgesBegin(1))).isEqualTo(2.0);
+        assertThat(compactGraph.getEdge(compactGraph.getEdgesBegin(1))).isEqualTo(edge);
+        assertThat(compactGraph.hasEdge(1, 2)).isTrue();
+        assertThat(compactGraph.hasEdge(2, 1)).isFalse();
+    }
+
+    @Test
+    void itShouldReflectMutationsAfterRebuild() {
+        WeightedGraph graph = new WeightedGraph();
+        Vertex vertexA = new Vertex("A");
+        Vertex vertexB = new Vertex("B");
+
+        graph.addVertex(vertexA);
+        graph.addVertex(vertexB);
+        graph.addEdge(vertexA, vertexB, 1.0);
+        CompactGraph compactGraph = CompactGraph.of(graph);
+
+        graph.removeEdge(vertexA, vertexB);
+        graph.addEdge(vertexB, vertexA, 3.0);
+        compactGraph.rebuild(graph);
+
+        assertThat(compactGraph.getNumberOfEdges()).isOne();
+        assertThat(compactGraph.hasEdge(0, 1)).isFalse();
+        assertThat(compactGraph.hasEdge(1, 0)).isTrue();
+        assertThat(compactGraph.getWeight(compactGraph.getEdgesBegin(1))).isEqualTo(3.0);
+    }
+
+    @Test
+    void itShouldOrderEdgesByWeightUntilRebuild() {
+        WeightedGraph graph = new WeightedGraph();
+        Vertex vertexA = new Vertex("A");
+        Vertex vertexB = new Vertex("B");
+        Vertex vertexC = new Vertex("C");
+        graph.addVertex(vertexA);
+        graph.addVertex(vertexB);
+        graph.addVertex(vertexC);
+        graph.addEdge(vertexA, vertexB, 2.0);
+        graph.addEdge(vertexA, vertexC, 1.0);
+        WeightedEdge edge = graph.addEdge(vertexB, vertexC, 2.0);
+        CompactGraph compactGraph = CompactGraph.of(graph);
+
+        int[] edgesByWeight = compactGraph.getEdgesByWeight();
+
+        assertThat(compactGraph.getWeight(edgesByWeight[0])).isEqualTo(1.0);
+        assertThat(compactGraph.getWeightGroupSize(edgesByWeight[0])).isOne();
+        assertThat(compactGraph.getWeightGroupSize(edgesByWeight[1])).isEqualTo(2);
+        assertThat(compactGraph.getSource(edgesByWeight[2])).isOne();
+        graph.addEdgeWeight(edge, -1.5);
+        compactGraph.rebuild(graph);
+        assertThat(compactGraph.getWeight(compactGraph.getEdgesByWeight()[0])).isEqualTo(0.5);
+        assertThat(compactGraph.getWeightGroupSize(compactGraph.getEdgesByWeight()[2])).isOne();
+    }
+}
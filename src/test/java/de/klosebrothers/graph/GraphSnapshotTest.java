@@ -0,0 +1,99 @@
+package de.klosebrothers.graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GraphSnapshotTest {
+
+    private Path snapshot;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        snapshot = Files.createTempFile("graph", ".snapshot");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(snapshot);
+    }
+
+    @Test
+    void itShouldRestoreVerticesEdgesAndInfluxes() {
+        WeightedGraph graph = new WeightedGraph();
+        Vertex vertexA = new Vertex("A");
+        Vertex vertexB = new Vertex("B\u00fc");
+        Vertex vertexC = new Vertex("C");
+        graph.addVertex(vertexA);
+        graph.addVertex(vertexB);
+        graph.addVertex(vertexC);
+        graph.addEdge(vertexA, vertexB, 2.5);
+        graph.addEdge(vertexB, vertexC, 1.0);
+        graph.addEdge(vertexC, vertexA, 4.0);
+
+        GraphSnapshot.save(graph, snapshot);
+        WeightedGraph loadedGraph = GraphSnapshot.load(snapshot);
+
+        assertThat(loadedGraph.getNumberOfVertices()).isEqualTo(3);
+        Vertex loadedVertexA = loadedGraph.getVertexByName("A").orElseThrow();
+        Vertex loadedVertexB = loadedGraph.getVertexByName("B\u00fc").orElseThrow();
+        Vertex loadedVertexC = loadedGraph.getVertexByName("C").orElseThrow();
+        assertThat(loadedVertexA.getOutEdgeToVertex(loadedVertexB).orElseThrow().getWeight()).isEqualTo(2.5);
+        assertThat(loadedVertexB.getInEdgeFromVertex(loadedVertexA)).isPresent();
+        assertThat(loadedVertexC.getOutEdgeToVertex(loadedVertexA).orElseThrow().getWeight()).isEqualTo(4.0);
+        assertThat(loadedVertexA.getInflux()).isEqualTo(vertexA.getInflux());
+        assertThat(loadedVertexB.getInflux()).isEqualTo(vertexB.getInflux());
+        assertThat(loadedVertexC.getId()).isEqualTo(2);
+    }
+
+    @Test
+    void itShouldRejectFileThatIsNoSnapshot() throws IOException {
+        Files.writeString(snapshot, "no snapshot");
+
+        assertThatThrownBy(() -> GraphSnapshot.load(snapshot)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void itShouldRejectSnapshotWithEdgeToUnknownVertex() throws IOException {
+        saveTwoVertexSnapshot();
+        overwriteInt(30, 7);
+
+        assertThatThrownBy(() -> GraphSnapshot.load(snapshot))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("edge 0");
+    }
+
+    @Test
+    void itShouldRejectSnapshotWithMoreVerticesThanStored() throws IOException {
+        saveTwoVertexSnapshot();
+        overwriteInt(8, 1_000_000);
+
+        assertThatThrownBy(() -> GraphSnapshot.load(snapshot))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("vertices");
+    }
+
+    private void saveTwoVertexSnapshot() {
+        WeightedGraph graph = new WeightedGraph();
+        Vertex vertexA = new Vertex("A");
+        Vertex vertexB = new Vertex("B");
+        graph.addVertex(vertexA);
+        graph.addVertex(vertexB);
+        graph.addEdge(vertexA, vertexB, 1.0);
+        GraphSnapshot.save(graph, snapshot);
+    }
+
+    private void overwriteInt(int position, int value) throws IOException {
+        byte[] bytes = Files.readAllBytes(snapshot);
+        ByteBuffer.wrap(bytes).putInt(position, value);
+        Files.write(snapshot, bytes);
+    }
+}
@@ -0,0 +1,69 @@
+package de.klosebrothers.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class TraversalKernelTest {
+
+    @Test
+    void itShouldIterateOutEdgesOfTopVertex() {
+        WeightedGraph graph = new WeightedGraph();
+        Vertex vertexA = new Vertex("A");
+        Vertex vertexB = new Vertex("B");
+        Vertex vertexC = new Vertex("C");
+
+        graph.addVertex(vertexA);
+        graph.addVertex(vertexB);
+        graph.addVertex(vertexC);
+        graph.addEdge(vertexA, vertexB, 1.0);
+        graph.addEdge(vertexA, vertexC, 1.0);
+        CompactGraph compactGraph = CompactGraph.of(graph);
+        TraversalKernel kernel = compactGraph.getTraversalKernel();
+
+        kernel.startTraversal();
+        kernel.push(0);
+        int firstEdge = kernel.nextEdge();
+        int secondEdge = kernel.nextEdge();
+        int exhaustedEdge = kernel.nextEdge();
+
+        assertThat(firstEdge).isZero();
+        assertThat(secondEdge).isOne();
+        assertThat(exhaustedEdge).isEqualTo(-1);
+        assertThat(kernel.size()).isOne();
+        assertThat(kernel.pop()).isZero();
+        assertThat(kernel.isEmpty()).isTrue();
+    }
+
+    @Test
+    void itShouldForgetVisitedVerticesWhenStartingNewTraversal() {
+        WeightedGraph graph = new WeightedGraph();
+        graph.addVertex(new Vertex("A"));
+        graph.addVertex(new Vertex("B"));
+        TraversalKernel kernel = CompactGraph.of(graph).getTraversalKernel();
+
+        kernel.startTraversal();
+        kernel.markVisited(1);
+        boolean visitedInFirstTraversal = kernel.isVisited(1);
+        kernel.startTraversal();
+
+        assertThat(visitedInFirstTraversal).isTrue();
+        assertThat(kernel.isVisited(1)).isFalse();
+        assertThat(kernel.isVisited(0)).isFalse();
+    }
+
+    @Test
+    void itShouldForgetTargetsWhenClearingTargets() {
+        WeightedGraph graph = new WeightedGraph();
+        graph.addVertex(new Vertex("A"));
+        TraversalKernel kernel = CompactGraph.of(graph).getTraversalKernel();
+
+        kernel.clearTargets();
+        kernel.markTarget(0);
+        boolean markedTarget = kernel.isTarget(0);
+        kernel.clearTargets();
+
+        assertThat(markedTarget).isTrue();
+        assertThat(kernel.isTarget(0)).isFalse();
+    }
+}
@@ -36,4 +36,31 @@ class WeightedEdgeTest {
 
         assertThat(weightedEdge.getWeight()).isEqualTo(2.0);
     }
+
+    @Test
+    void itShouldUpdateInfluxesOfConnectedVerticesWhenChangingWeight() {
+        final Vertex fromVertex = new Vertex("sourceVertex");
+        final Vertex toVertex = new Vertex("destinationVertex");
+        final WeightedEdge weightedEdge = new WeightedEdge(fromVertex, toVertex, 2.0);
+        fromVertex.addOutEdge(weightedEdge);
+        toVertex.addInEdge(weightedEdge);
+
+        weightedEdge.subtractWeight(0.5);
+        weightedEdge.setWeight(4.0);
+
+        assertThat(fromVertex.getInflux()).isEqualTo(-4.0);
+        assertThat(toVertex.getInflux()).isEqualTo(4.0);
+    }
+
+    @Test
+    void itShouldNotUpdateInfluxesOfVerticesTheEdgeIsNotConnectedTo() {
+        final Vertex fromVertex = new Vertex("sourceVertex");
+        final Vertex toVertex = new Vertex("destinationVertex");
+        final WeightedEdge weightedEdge = new WeightedEdge(fromVertex, toVertex, 2.0);
+
+        weightedEdge.addWeight(3.0);
+
+        assertThat(fromVertex.getInflux()).isZero();
+        assertThat(toVertex.getInflux()).isZero();
+    }
 }
\ No newline at end of file
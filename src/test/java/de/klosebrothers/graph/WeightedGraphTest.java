@@ -40,6 +40,47 @@ class WeightedGraphTest {
         assertThat(vertexMaybe).isEmpty();
     }
 
+    @Test
+    void itShouldAssignDenseIdsInInsertionOrder() {
+        WeightedGraph graph = new WeightedGraph();
+        Vertex vertexA = new Vertex("A");
+        Vertex vertexB = new Vertex("B");
+
+        graph.addVertex(vertexA);
+        graph.addVertex(vertexB);
+
+        assertThat(vertexA.getId()).isZero();
+        assertThat(vertexB.getId()).isOne();
+        assertThat(graph.getVertexById(1)).isEqualTo(vertexB);
+        assertThat(graph.getNumberOfVertices()).isEqualTo(2);
+    }
+
+    @Test
+    void itShouldReturnFirstAddedVertexForDuplicateName() {
+        WeightedGraph graph = new WeightedGraph();
+        Vertex firstVertex = new Vertex("vertex");
+        Vertex secondVertex = new Vertex("vertex");
+
+        graph.addVertex(firstVertex);
+        graph.addVertex(secondVertex);
+
+        assertThat(graph.getVertexByName("vertex")).contains(firstVertex);
+    }
+
+    @Test
+    void itShouldReindexVerticesWhenSettingVertices() {
+        WeightedGraph graph = new WeightedGraph();
+        Vertex vertexA = new Vertex("A");
+        Vertex vertexB = new Vertex("B");
+        graph.addVertex(vertexA);
+
+        graph.setVertices(List.of(vertexB, vertexA));
+
+        assertThat(graph.getVertexByName("B")).contains(vertexB);
+        assertThat(vertexB.getId()).isZero();
+        assertThat(vertexA.getId()).isOne();
+    }
+
     @Test
     void itShouldAddEdge() {
         WeightedGraph graph = new WeightedGraph();
@@ -74,6 +115,23 @@ class WeightedGraphTest {
         assertThat(sourceVertex.getOutEdgeToVertex(destinationVertex)).isEmpty();
     }
 
+    @Test
+    void itShouldRemoveAllEdges() {
+        WeightedGraph graph = new WeightedGraph();
+        Vertex sourceVertex = new Vertex("source vertex");
+        Vertex destinationVertex = new Vertex("destination vertex");
+
+        graph.addVertex(sourceVertex);
+        graph.addVertex(destinationVertex);
+        graph.addEdge(sourceVertex, destinationVertex, 2.0);
+
+        graph.removeAllEdges();
+
+        assertThat(sourceVertex.getOutEdges()).isEmpty();
+        assertThat(destinationVertex.getInEdges()).isEmpty();
+        assertThat(graph.getVertices()).contains(sourceVertex, destinationVertex);
+    }
+
     @Test
     void itShouldSubtractAmountFromEdgeWeights() {
         WeightedGraph graph = new WeightedGraph();
@@ -176,4 +234,46 @@ class WeightedGraphTest {
         assertThat(vertexB.getOutEdgeToVertex(vertexC)).isPresent();
         assertThat(vertexB.getOutEdgeToVertex(vertexC).get().getWeight()).isEqualTo(3.0);
     }
-}
\ No newline at end of file
+
+    @Test
+    void itShouldKeepInfluxesUpToDateWhileMutatingEdges() {
+        WeightedGraph graph = new WeightedGraph();
+        Vertex vertexA = new Vertex("A");
+        Vertex vertexB = new Vertex("B");
+        Vertex vertexC = new Vertex("C");
+
+        graph.addVertex(vertexA);
+        graph.addVertex(vertexB);
+        graph.addVertex(vertexC);
+        WeightedEdge edgeAB = graph.addEdge(vertexA, vertexB, 2.0);
+        graph.addEdge(vertexB, vertexC, 3.0);
+        edgeAB.addWeight(4.0);
+        graph.removeEdge(vertexB, vertexC);
+        WeightedEdge edgeCA = graph.addEdge(vertexC, vertexA, -1.0);
+        graph.flipEdge(edgeCA);
+
+        assertThat(vertexA.getInflux()).isEqualTo(-7.0);
+        assertThat(vertexB.getInflux()).isEqualTo(6.0);
+        assertThat(vertexC.getInflux()).isOne();
+    }
+
+    @Test
+    void itShouldIncreaseVersionOnEveryMutation() {
+        WeightedGraph graph = new WeightedGraph();
+        Vertex vertexA = new Vertex("A");
+        Vertex vertexB = new Vertex("B");
+        graph.addVertex(vertexA);
+        graph.addVertex(vertexB);
+        long initialVersion = graph.getVersion();
+
+        WeightedEdge edge = graph.addEdge(vertexA, vertexB, 2.0);
+        long versionAfterAddEdge = graph.getVersion();
+        graph.addEdgeWeight(edge, 1.0);
+        long versionAfterAddEdgeWeight = graph.getVersion();
+        graph.removeEdge(vertexA, vertexB);
+
+        assertThat(versionAfterAddEdge).isGreaterThan(initialVersion);
+        assertThat(versionAfterAddEdgeWeight).isGreaterThan(versionAfterAddEdge);
+        assertThat(graph.getVersion()).isGreaterThan(versionAfterAddEdgeWeight);
+    }
+}
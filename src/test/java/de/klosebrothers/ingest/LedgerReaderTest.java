@@ -0,0 +1,96 @@
+package de.klosebrothers.ingest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.klosebrothers.minimumtransactions.Payments;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LedgerReaderTest {
+
+    private Path ledger;
+    private Payments payments;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ledger = Files.createTempFile("ledger", ".txt");
+        payments = new Payments();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(ledger);
+    }
+
+    @Test
+    void itShouldReadCsvLedgerWithHeaderAndWindowsLineEndings() throws IOException {
+        writeLedger("giver,amount,recipients\r\nAlex,10.5,Bob\r\n\r\nBob, 9 ,Alex,Clara,Bob\r\n");
+
+        long numberOfRecords = LedgerReader.read(ledger, LedgerFormat.CSV, payments);
+
+        assertThat(numberOfRecords).isEqualTo(2L);
+        assertThat(payments.getTotalPaymentFromTo("Alex", "Bob")).isEqualTo(10.5);
+        assertThat(payments.getTotalPaymentFromTo("Bob", "Alex")).isEqualTo(3.0);
+        assertThat(payments.getTotalPaymentFromTo("Bob", "Clara")).isEqualTo(3.0);
+    }
+
+    @Test
+    void itShouldReadNdjsonLedgerWithEscapedNamesAndUnknownKeys() throws IOException {
+        writeLedger("""
+                {"giver": "Alex", "amount": 12, "recipients": ["Bob", "Cl\\u00e4ra", "Alex"]}
+                {"note": {"tags": ["a", "b"]}, "recipients": ["Alex"], "amount": "4.20", "giver": "Cl\u00e4ra"}
+                """);
+
+        long numberOfRecords = LedgerReader.read(ledger, LedgerFormat.NDJSON, payments);
+
+        assertThat(numberOfRecords).isEqualTo(2L);
+        assertThat(payments.getTotalPaymentFromTo("Alex", "Bob")).isEqualTo(4.0);
+        assertThat(payments.getTotalPaymentFromTo("Alex", "Cl\u00e4ra")).isEqualTo(4.0);
+        assertThat(payments.getTotalPaymentFromTo("Cl\u00e4ra", "Alex")).isEqualTo(4.2);
+    }
+
+    @Test
+    void itShouldRejectMalformedRecordWithLineNumber() throws IOException {
+        writeLedger("Alex,10,Bob\nBob,ten,Alex\n");
+
+        assertThatThrownBy(() -> LedgerReader.read(ledger, LedgerFormat.CSV, payments))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 2");
+    }
+
+    @Test
+    void itShouldParseAmountsWithMoreThanFifteenDigitsExactly() throws IOException {
+        writeLedger("Alex,18.137180125528050,Bob\nBob,18.13718012552805,Alex,Clara\n");
+
+        LedgerReader.read(ledger, LedgerFormat.CSV, payments);
+
+        assertThat(payments.getTotalPaymentFromTo("Alex", "Bob")).isEqualTo(Double.parseDouble("18.137180125528050"));
+        assertThat(payments.getTotalPaymentFromTo("Bob", "Clara")).isEqualTo(Double.parseDouble("18.13718012552805") / 2);
+    }
+
+    @Test
+    void itShouldAggregateRecordsAcrossBatches() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int record = 0; record < 150_000; record++) {
+            content.append(record % 2 == 0 ? "Alex,1,Bob\n" : "Bob,2,Clara\n");
+        }
+        writeLedger(content.toString());
+
+        long numberOfRecords = LedgerReader.read(ledger, LedgerFormat.CSV, payments);
+
+        assertThat(numberOfRecords).isEqualTo(150_000L);
+        assertThat(payments.getTotalPaymentFromTo("Alex", "Bob")).isEqualTo(75_000.0);
+        assertThat(payments.getTotalPaymentFromTo("Bob", "Clara")).isEqualTo(150_000.0);
+    }
+
+    private void writeLedger(String content) throws IOException {
+        Files.writeString(ledger, content, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,117 @@
+package de.klosebrothers.journal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.klosebrothers.minimumtransactions.Payment;
+import de.klosebrothers.minimumtransactions.Payments;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DurablePaymentsTest {
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("payments");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    void itShouldReplayAcknowledgedPaymentsAfterRestart() {
+        try (DurablePayments durablePayments = DurablePayments.open(directory, new Payments(), GroupCommitPolicy.DEFAULT)) {
+            durablePayments.registerPayment("A", 10.0, "B");
+            durablePayments.registerPayments(List.of(Payment.of("B", 4.0, "A", "C"))).join();
+        }
+
+        try (DurablePayments recoveredPayments = DurablePayments.open(directory, new Payments(), GroupCommitPolicy.DEFAULT)) {
+            Payments payments = recoveredPayments.getPayments();
+
+            assertThat(payments.getTotalPaymentFromTo("A", "B")).isEqualTo(10.0);
+            assertThat(payments.getTotalPaymentFromTo("B", "C")).isEqualTo(2.0);
+            assertThat(payments.getInfluxForPerson("A")).isEqualTo(-8.0);
+        }
+    }
+
+    @Test
+    void itShouldReplayLogOnTopOfLatestCheckpoint() throws IOException {
+        try (DurablePayments durablePayments = DurablePayments.open(directory, new Payments(), GroupCommitPolicy.DEFAULT)) {
+            durablePayments.registerPayment("A", 10.0, "B");
+            durablePayments.registerPayment("B", 10.0, "C");
+            durablePayments.simplify(false);
+            durablePayments.checkpoint();
+            durablePayments.registerPayment("C", 4.0, "A").join();
+        }
+
+        try (DurablePayments recoveredPayments = DurablePayments.open(directory, new Payments(), GroupCommitPolicy.DEFAULT)) {
+            Payments payments = recoveredPayments.getPayments();
+
+            assertThat(payments.getTotalPaymentFromTo("A", "C")).isEqualTo(10.0);
+            assertThat(payments.getTotalPaymentFromTo("C", "A")).isEqualTo(4.0);
+            assertThat(payments.getTotalPaymentFromTo("A", "B")).isEqualTo(0.0);
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.map(file -> file.getFileName().toString()).toList()).containsExactlyInAnyOrder("snapshot-1.bin", "payments-1.log");
+        }
+    }
+
+    @Test
+    void itShouldRejectInvalidPaymentWithoutLoggingIt() {
+        try (DurablePayments durablePayments = DurablePayments.open(directory, new Payments(), GroupCommitPolicy.DEFAULT)) {
+            durablePayments.registerPayment("A", 10.0, "B");
+
+            assertThatThrownBy(() -> durablePayments.registerPayment(null, 5.0, "B")).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> durablePayments.registerPayment("B", Double.NaN, "A")).isInstanceOf(IllegalArgumentException.class);
+            assertThat(durablePayments.getPayments().getTotalPaymentFromTo("B", "A")).isZero();
+        }
+
+        try (DurablePayments recoveredPayments = DurablePayments.open(directory, new Payments(), GroupCommitPolicy.DEFAULT)) {
+            assertThat(recoveredPayments.getPayments().getTotalPaymentFromTo("A", "B")).isEqualTo(10.0);
+            assertThat(recoveredPayments.getPayments().getTotalPaymentFromTo("B", "A")).isZero();
+        }
+    }
+
+    @Test
+    void itShouldRefuseCheckpointAfterAppendOfAppliedBatchFailed() {
+        AtomicReference<DurablePayments> durablePaymentsReference = new AtomicReference<>();
+        Payments closingPayments = new Payments() {
+            @Override
+            public void registerPayments(Collection<Payment> payments) {
+                super.registerPayments(payments);
+                durablePaymentsReference.get().close();
+            }
+        };
+        try (DurablePayments durablePayments = DurablePayments.open(directory, closingPayments, GroupCommitPolicy.DEFAULT)) {
+            durablePaymentsReference.set(durablePayments);
+
+            assertThatThrownBy(() -> durablePayments.registerPayments(List.of(Payment.of("A", 10.0, "B"), Payment.of("B", 4.0, "C"))))
+                    .isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(durablePayments::checkpoint).isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> durablePayments.registerPayment("C", 1.0, "A")).isInstanceOf(IllegalStateException.class);
+        }
+
+        try (DurablePayments recoveredPayments = DurablePayments.open(directory, new Payments(), GroupCommitPolicy.DEFAULT)) {
+            assertThat(recoveredPayments.getPayments().getTotalPaymentFromTo("A", "B")).isZero();
+            assertThat(recoveredPayments.getPayments().getTotalPaymentFromTo("B", "C")).isZero();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package de.klosebrothers.journal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.klosebrothers.minimumtransactions.Payment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PaymentLogTest {
+
+    private Path logPath;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        logPath = Files.createTempFile("payments", ".log");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(logPath);
+    }
+
+    @Test
+    void itShouldReadAcknowledgedPaymentsInAppendOrder() {
+        List<CompletableFuture<Void>> acknowledgements = new ArrayList<>();
+        try (PaymentLog log = PaymentLog.open(logPath, GroupCommitPolicy.ofBatchBytes(64))) {
+            acknowledgements.add(log.append(Payment.of("A", 10.0, "B", "C\u00e4")));
+            acknowledgements.add(log.append(Payment.of("B", 2.5, "A")));
+            acknowledgements.forEach(CompletableFuture::join);
+        }
+
+        List<Payment> payments = new ArrayList<>();
+        PaymentLog.read(logPath, payments::add);
+
+        assertThat(payments).containsExactly(Payment.of("A", 10.0, "B", "C\u00e4"), Payment.of("B", 2.5, "A"));
+    }
+
+    @Test
+    void itShouldDropTornRecordAndAppendBehindLastCompleteRecord() throws IOException {
+        try (PaymentLog log = PaymentLog.open(logPath, GroupCommitPolicy.DEFAULT)) {
+            log.append(Payment.of("A", 10.0, "B"));
+            log.sync();
+        }
+        Files.write(logPath, new byte[]{0, 0, 0, 40, 1, 2}, StandardOpenOption.APPEND);
+
+        try (PaymentLog log = PaymentLog.open(logPath, GroupCommitPolicy.DEFAULT)) {
+            log.append(Payment.of("B", 3.0, "A")).join();
+        }
+        List<Payment> payments = new ArrayList<>();
+        PaymentLog.read(logPath, payments::add);
+
+        assertThat(payments).containsExactly(Payment.of("A", 10.0, "B"), Payment.of("B", 3.0, "A"));
+    }
+}
@@ -0,0 +1,54 @@
+package de.klosebrothers.minimumtransactions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ConcurrentPaymentsTest {
+
+    @Test
+    void itShouldSumPaymentsRegisteredFromManyThreads() throws Exception {
+        ConcurrentPayments concurrentPayments = new ConcurrentPayments(new Payments(AmountRepresentation.MINOR_UNITS));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> registrations = new ArrayList<>();
+
+        for (int thread = 0; thread < 4; thread++) {
+            registrations.add(executor.submit(() -> {
+                for (int payment = 0; payment < 10_000; payment++) {
+                    concurrentPayments.registerPayment("A", 0.03, "A", "B", "C");
+                    concurrentPayments.registerPayment(Payment.of("C", 0.01, "B"));
+                }
+            }));
+        }
+        for (Future<?> registration : registrations) {
+            registration.get();
+        }
+        executor.shutdown();
+        Payments payments = concurrentPayments.drain();
+
+        assertThat(payments.getTotalPaymentFromTo("A", "B")).isEqualTo(400.0);
+        assertThat(payments.getTotalPaymentFromTo("A", "C")).isEqualTo(400.0);
+        assertThat(payments.getTotalPaymentFromTo("C", "B")).isEqualTo(400.0);
+        assertThat(payments.getInfluxForPerson("B")).isEqualTo(800.0);
+    }
+
+    @Test
+    void itShouldHandOverPaymentsRegisteredAfterSimplifyToNextDrain() {
+        ConcurrentPayments concurrentPayments = new ConcurrentPayments(new Payments());
+        concurrentPayments.registerPayment("A", 10.0, "B");
+        concurrentPayments.registerPayment("B", 10.0, "C");
+
+        Payments payments = concurrentPayments.simplify(false);
+        concurrentPayments.registerPayment("C", 4.0, "A");
+
+        assertThat(payments.getTotalPaymentFromTo("A", "C")).isEqualTo(10.0);
+        assertThat(payments.getTotalPaymentFromTo("C", "A")).isEqualTo(0.0);
+        assertThat(concurrentPayments.drain().getTotalPaymentFromTo("C", "A")).isEqualTo(4.0);
+    }
+}
@@ -3,12 +3,20 @@ package de.klosebrothers.minimumtransactions;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import de.klosebrothers.algorithm.ExactSettler;
+import de.klosebrothers.algorithm.Transfer;
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -368,6 +376,151 @@ class PaymentsTest {
         assertThat(actualInfluxes).containsExactlyInAnyOrderEntriesOf(expectedInfluxes);
     }
 
+    @Test
+    void itShouldSplitPaymentsInMinorUnitsWithoutResidue() {
+        payments = new Payments(AmountRepresentation.MINOR_UNITS);
+        payments.registerPayment("Alex", 10.0, "Bob", "Clara", "Dennis");
+
+        double paymentAlexBob = payments.getTotalPaymentFromTo("Alex", "Bob");
+        double paymentAlexClara = payments.getTotalPaymentFromTo("Alex", "Clara");
+        double paymentAlexDennis = payments.getTotalPaymentFromTo("Alex", "Dennis");
+
+        assertThat(paymentAlexBob).isEqualTo(3.34);
+        assertThat(paymentAlexClara).isEqualTo(3.33);
+        assertThat(paymentAlexDennis).isEqualTo(3.33);
+        assertThat(payments.getInfluxForPerson("Alex")).isEqualTo(-10.0);
+    }
+
+    @Test
+    void itShouldRegisterPaymentGivenInMinorUnits() {
+        payments = new Payments(AmountRepresentation.MINOR_UNITS);
+        payments.registerPaymentInMinorUnits("Alex", 1050L, "Bob");
+
+        String resolvingPayments = payments.getResolvingPayments();
+
+        assertThat(resolvingPayments).isEqualTo("Bob owes Alex 10.5");
+    }
+
+    @Test
+    void itShouldSimplifyRealWorldPaymentsInMinorUnitsWhileRetainingEqualInfluxes() {
+        payments = new Payments(AmountRepresentation.MINOR_UNITS);
+        registerRealWorldPayments();
+        Map<String, Double> expectedInfluxes = payments.getAllInfluxes();
+
+        payments.simplify(false);
+
+        Map<String, Double> actualInfluxes = payments.getAllInfluxes();
+        assertThat(actualInfluxes).containsExactlyInAnyOrderEntriesOf(expectedInfluxes);
+    }
+
+    @Test
+    void itShouldSettleRandomPaymentsByNetBalanceWithAtMostOneTransferLessThanPersons() {
+        payments.setSimplificationStrategy(SimplificationStrategy.GREEDY_NET_BALANCE);
+        registerRandomPayments(50, 1000, 1337);
+        Map<String, Double> expectedInfluxes = payments.getAllInfluxes();
+
+        payments.simplify(false);
+
+        Map<String, Double> actualInfluxes = payments.getAllInfluxes();
+        assertThat(actualInfluxes).containsExactlyInAnyOrderEntriesOf(expectedInfluxes);
+        assertThat(payments.getResolvingPayments().lines().count()).isLessThanOrEqualTo(expectedInfluxes.size() - 1L);
+    }
+
+    @Test
+    void itShouldSettleRealWorldPaymentsExactlyWhileRetainingEqualInfluxes() {
+        payments = new Payments(AmountRepresentation.MINOR_UNITS);
+        payments.setSimplificationStrategy(SimplificationStrategy.EXACT);
+        registerRealWorldPayments();
+        Map<String, Double> expectedInfluxes = payments.getAllInfluxes();
+
+        payments.simplify(false);
+
+        Map<String, Double> actualInfluxes = payments.getAllInfluxes();
+        assertThat(actualInfluxes).containsExactlyInAnyOrderEntriesOf(expectedInfluxes);
+        assertThat(payments.getResolvingPayments().lines().count()).isLessThanOrEqualTo(expectedInfluxes.size() - 1L);
+    }
+
+    @Test
+    void itShouldResimplifyAfterNewPaymentOnSimplifiedPayments() {
+        payments.registerPayment("Alex", 5.0, "Bob");
+        payments.registerPayment("Bob", 5.0, "Claire");
+        payments.simplify(false);
+
+        payments.registerPayment("Claire", 5.0, "Dennis");
+        payments.simplify(false);
+
+        assertThat(payments.getResolvingPayments()).isEqualTo("Dennis owes Alex 5.0");
+        assertThat(payments.isSimplified()).isTrue();
+    }
+
+    @Test
+    void itShouldOnlySearchComponentsTouchedSinceLastSimplify() {
+        payments.registerPayment("Alex", 5.0, "Bob");
+        payments.simplify(false);
+
+        payments.registerPayment("Claire", 5.0, "Dennis");
+        boolean simplified = payments.isSimplified();
+
+        assertThat(simplified).isTrue();
+        assertThat(payments.getVerticesReachingChanges()).containsExactly(false, false, true, true);
+        payments.simplify(false);
+        assertThat(payments.getVerticesReachingChanges()).containsExactly(false, false, false, false);
+    }
+
+    @Test
+    void itShouldSimplifyIndependentGroupsInParallelWhileRetainingEqualInfluxes() {
+        ForkJoinPool workerPool = new ForkJoinPool(4);
+        payments.setWorkerPool(workerPool);
+        Random random = new Random(1337);
+        for (int payment = 0; payment < 2_000; payment++) {
+            int group = random.nextInt(20);
+            payments.registerPayment("Group" + group + "Person" + random.nextInt(6), random.nextInt(1, 3), "Group" + group + "Person" + random.nextInt(6));
+        }
+        Map<String, Double> expectedInfluxes = payments.getAllInfluxes();
+
+        try {
+            payments.simplify(false);
+
+            assertThat(payments.getAllInfluxes()).containsExactlyInAnyOrderEntriesOf(expectedInfluxes);
+            assertThat(payments.isSimplified()).isTrue();
+        } finally {
+            workerPool.shutdown();
+        }
+    }
+
+    @Test
+    void itShouldRegisterBulkPaymentsLikeSinglePayments() {
+        Payments singlePayments = new Payments(AmountRepresentation.MINOR_UNITS);
+        payments = new Payments(AmountRepresentation.MINOR_UNITS);
+        List<Payment> bulkPayments = List.of(
+                Payment.of("Alex", 10.0, "Bob", "Clara", "Alex"),
+                Payment.of("Bob", 4.0, "Clara"),
+                Payment.of("Alex", 5.0, "Bob"),
+                Payment.of("Clara", 1.0, "Clara"));
+        bulkPayments.forEach(payment -> singlePayments.registerPayment(payment.giverName(), payment.amount(), payment.recipientNames().toArray(String[]::new)));
+
+        payments.registerPayments(bulkPayments);
+
+        assertThat(payments.getResolvingPayments()).isEqualTo(singlePayments.getResolvingPayments());
+        assertThat(payments.getAllInfluxes()).containsExactlyInAnyOrderEntriesOf(singlePayments.getAllInfluxes());
+        assertThat(payments.getTotalPaymentFromTo("Alex", "Bob")).isEqualTo(8.34);
+    }
+
+    @Test
+    void itShouldRestoreSavedSnapshot() throws IOException {
+        registerRealWorldPayments();
+        Map<String, Double> expectedInfluxes = payments.getAllInfluxes();
+        Path snapshot = Files.createTempFile("payments", ".snapshot");
+
+        payments.saveSnapshot(snapshot);
+        Payments restoredPayments = new Payments();
+        restoredPayments.loadSnapshot(snapshot);
+        Files.delete(snapshot);
+
+        assertThat(restoredPayments.getAllInfluxes()).containsExactlyInAnyOrderEntriesOf(expectedInfluxes);
+        assertThat(restoredPayments.getResolvingPayments()).isEqualTo(payments.getResolvingPayments());
+    }
+
     private void registerExamplePayments() {
         payments.registerPayment("Alex", 10.0, "Bob");
         payments.registerPayment("Bob", 3.0, "Clara");
@@ -419,4 +572,95 @@ class PaymentsTest {
         payments.registerPayment("Philly", 11.0, "Fabi", "Paul", "Philly", "Janne");
         payments.registerPayment("Fabi", 50.0, "Fabi", "Paul", "Philly", "Janne");
     }
-}
\ No newline at end of file
+
+    @Test
+    void itShouldReuseCachedResultsUntilNextPayment() {
+        payments.registerPayment("Alex", 6.0, "Bob");
+        String resolvingPayments = payments.getResolvingPayments();
+        Map<String, Double> allInfluxes = payments.getAllInfluxes();
+
+        String cachedResolvingPayments = payments.getResolvingPayments();
+        Map<String, Double> cachedInfluxes = payments.getAllInfluxes();
+        payments.registerPayment("Bob", 5.0, "Alex");
+
+        assertThat(cachedResolvingPayments).isSameAs(resolvingPayments);
+        assertThat(cachedInfluxes).isSameAs(allInfluxes);
+        assertThat(payments.getResolvingPayments()).isEqualTo("Alex owes Bob 5.0" + System.lineSeparator() + "Bob owes Alex 6.0");
+        assertThat(payments.getAllInfluxes()).containsEntry("Alex", -1.0);
+    }
+
+    @Test
+    void itShouldStreamResolvingPaymentsAsStructuredTransfers() {
+        payments.registerPayment("Alex", 6.0, "Bob");
+        payments.registerPayment("Clara", 2.5, "Alex");
+        List<String> consumedPayments = new ArrayList<>();
+        List<Transfer> iteratedTransfers = new ArrayList<>();
+        int[] debtorIds = new int[1];
+        int[] creditorIds = new int[1];
+        long[] amounts = new long[1];
+
+        payments.forEachResolvingPayment((debtorId, creditorId, amount) -> consumedPayments.add(
+                payments.getParticipantName(debtorId) + " owes " + payments.getParticipantName(creditorId) + " " + amount));
+        payments.getResolvingTransfers().forEachRemaining(iteratedTransfers::add);
+        long settlementVersion = payments.getSettlementVersion();
+        int numberOfFirstCopiedPayments = payments.getResolvingPayments(settlementVersion, 0, debtorIds, creditorIds, amounts);
+        long firstCopiedAmount = amounts[0];
+        int numberOfSecondCopiedPayments = payments.getResolvingPayments(settlementVersion, 1, debtorIds, creditorIds, amounts);
+        int numberOfThirdCopiedPayments = payments.getResolvingPayments(settlementVersion, 2, debtorIds, creditorIds, amounts);
+
+        assertThat(consumedPayments).containsExactlyInAnyOrder("Bob owes Alex 600", "Alex owes Clara 250");
+        assertThat(iteratedTransfers).containsExactly(new Transfer(0, 1, 600), new Transfer(2, 0, 250));
+        assertThat(numberOfFirstCopiedPayments).isOne();
+        assertThat(firstCopiedAmount).isEqualTo(600L);
+        assertThat(numberOfSecondCopiedPayments).isOne();
+        assertThat(debtorIds[0]).isZero();
+        assertThat(creditorIds[0]).isEqualTo(2);
+        assertThat(amounts[0]).isEqualTo(250L);
+        assertThat(numberOfThirdCopiedPayments).isZero();
+    }
+
+    @Test
+    void itShouldFailFastWhenPaymentsChangeWhileReadingResolvingPayments() {
+        payments.registerPayment("Alex", 6.0, "Bob");
+        payments.registerPayment("Clara", 2.5, "Alex");
+        long settlementVersion = payments.getSettlementVersion();
+        int[] debtorIds = new int[1];
+        int[] creditorIds = new int[1];
+        long[] amounts = new long[1];
+
+        payments.getResolvingPayments(settlementVersion, 0, debtorIds, creditorIds, amounts);
+        payments.registerPayment("Bob", 1.0, "Clara");
+
+        assertThatThrownBy(() -> payments.getResolvingPayments(settlementVersion, 1, debtorIds, creditorIds, amounts))
+                .isInstanceOf(ConcurrentModificationException.class);
+        assertThatThrownBy(() -> payments.getResolvingPayments(payments.getSettlementVersion(), -1, debtorIds, creditorIds, amounts))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> payments.forEachResolvingPayment((debtorId, creditorId, amount) -> payments.registerPayment("Dana", 1.0, "Alex")))
+                .isInstanceOf(ConcurrentModificationException.class);
+    }
+
+    @Test
+    void itShouldIgnorePaymentWithoutRecipientsInMinorUnits() {
+        payments = new Payments(AmountRepresentation.MINOR_UNITS);
+
+        payments.registerPayment("Alex", 5.0);
+        payments.registerPayments(List.of(Payment.of("Alex", 5.0)));
+
+        assertThat(payments.getAllInfluxes()).isEmpty();
+    }
+
+    @Test
+    void itShouldFallBackToGreedySettlementBeyondExactSettlementLimit() {
+        payments = new Payments(AmountRepresentation.MINOR_UNITS);
+        payments.setSimplificationStrategy(SimplificationStrategy.EXACT);
+        for (int participant = 1; participant <= ExactSettler.MAXIMUM_NUMBER_OF_OPEN_BALANCES + 1; participant++) {
+            payments.registerPayment("Creditor", participant, "Debtor" + participant);
+        }
+        Map<String, Double> expectedInfluxes = payments.getAllInfluxes();
+
+        payments.simplify(false);
+
+        assertThat(payments.getAllInfluxes()).containsExactlyInAnyOrderEntriesOf(expectedInfluxes);
+        assertThat(payments.getResolvingPayments().lines().count()).isEqualTo(ExactSettler.MAXIMUM_NUMBER_OF_OPEN_BALANCES + 1L);
+    }
+}
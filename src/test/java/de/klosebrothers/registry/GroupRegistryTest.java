@@ -0,0 +1,157 @@
+package de.klosebrothers.registry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.klosebrothers.minimumtransactions.Payments;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GroupRegistryTest {
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("groups");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    void itShouldEvictLeastRecentlyUsedGroupAndReloadItTransparently() {
+        GroupRegistry registry = new GroupRegistry(directory, ResidencyBudget.ofGroups(2), Payments::new);
+
+        registry.withGroup("trip", payments -> {
+            payments.registerPayment("A", 10.0, "B");
+            return null;
+        });
+        registry.withGroup("flat/share", payments -> {
+            payments.registerPayment("C", 5.0, "D");
+            return null;
+        });
+        registry.withGroup("trip", Payments::getResolvingPayments);
+        registry.withGroup("office", payments -> {
+            payments.registerPayment("E", 1.0, "F");
+            return null;
+        });
+
+        boolean wasResident = registry.isResident("flat/share");
+        double reloadedPayment = registry.withGroup("flat/share", payments -> payments.getTotalPaymentFromTo("C", "D"));
+
+        assertThat(wasResident).isFalse();
+        assertThat(registry.getNumberOfEvictions()).isEqualTo(2L);
+        assertThat(reloadedPayment).isEqualTo(5.0);
+        assertThat(registry.isResident("trip")).isFalse();
+        assertThat(registry.isResident("office")).isTrue();
+    }
+
+    @Test
+    void itShouldEvictGroupsWhenPaymentBudgetIsExceeded() {
+        GroupRegistry registry = new GroupRegistry(directory, new ResidencyBudget(100, 2), Payments::new);
+
+        registry.withGroup("first", payments -> {
+            payments.registerPayment("A", 10.0, "B", "C");
+            return null;
+        });
+        registry.withGroup("second", payments -> {
+            payments.registerPayment("D", 10.0, "E");
+            return null;
+        });
+
+        int numberOfResidentGroups = registry.getNumberOfResidentGroups();
+        double reloadedInflux = registry.withGroup("first", payments -> payments.getInfluxForPerson("A"));
+
+        assertThat(numberOfResidentGroups).isEqualTo(1);
+        assertThat(reloadedInflux).isEqualTo(-10.0);
+    }
+
+    @Test
+    void itShouldPersistAllGroupsOnEvictAll() {
+        GroupRegistry registry = new GroupRegistry(directory, ResidencyBudget.DEFAULT, Payments::new);
+        registry.withGroup("trip", payments -> {
+            payments.registerPayment("A", 10.0, "B");
+            return null;
+        });
+
+        registry.evictAll();
+        GroupRegistry reopenedRegistry = new GroupRegistry(directory, ResidencyBudget.DEFAULT, Payments::new);
+        double reloadedPayment = reopenedRegistry.withGroup("trip", payments -> payments.getTotalPaymentFromTo("A", "B"));
+
+        assertThat(registry.getNumberOfResidentGroups()).isZero();
+        assertThat(reloadedPayment).isEqualTo(10.0);
+    }
+
+    @Test
+    void itShouldKeepGroupsThatAreInUseOnEvictAll() {
+        GroupRegistry registry = new GroupRegistry(directory, ResidencyBudget.DEFAULT, Payments::new);
+        registry.withGroup("flat/share", payments -> {
+            payments.registerPayment("C", 5.0, "D");
+            return null;
+        });
+
+        Boolean residentWhileInUse = registry.withGroup("trip", payments -> {
+            payments.registerPayment("A", 10.0, "B");
+            registry.evictAll();
+            return registry.isResident("trip");
+        });
+
+        boolean otherGroupResident = registry.isResident("flat/share");
+        double paymentAfterEvictAll = registry.withGroup("trip", payments -> payments.getTotalPaymentFromTo("A", "B"));
+
+        assertThat(residentWhileInUse).isTrue();
+        assertThat(otherGroupResident).isFalse();
+        assertThat(paymentAfterEvictAll).isEqualTo(10.0);
+    }
+
+    @Test
+    void itShouldServeOtherGroupsWhileOneGroupIsLoading() throws Exception {
+        CountDownLatch loadingStarted = new CountDownLatch(1);
+        CountDownLatch loadingReleased = new CountDownLatch(1);
+        AtomicInteger numberOfCreatedPayments = new AtomicInteger();
+        GroupRegistry registry = new GroupRegistry(directory, ResidencyBudget.DEFAULT, () -> {
+            if (numberOfCreatedPayments.getAndIncrement() == 0) {
+                loadingStarted.countDown();
+                awaitUninterruptibly(loadingReleased);
+            }
+            return new Payments();
+        });
+        CompletableFuture<Double> slowGroup = CompletableFuture.supplyAsync(() -> registry.withGroup("slow", payments -> payments.getInfluxForPerson("A")));
+        loadingStarted.await();
+
+        CompletableFuture<Double> fastGroup = CompletableFuture.supplyAsync(() -> registry.withGroup("fast", payments -> payments.getInfluxForPerson("A")));
+        Double fastInflux = fastGroup.get(10, TimeUnit.SECONDS);
+        boolean slowGroupDone = slowGroup.isDone();
+        loadingReleased.countDown();
+
+        assertThat(fastInflux).isZero();
+        assertThat(slowGroupDone).isFalse();
+        assertThat(slowGroup.get(10, TimeUnit.SECONDS)).isZero();
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+}
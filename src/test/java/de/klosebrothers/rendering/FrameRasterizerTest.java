@@ -0,0 +1,41 @@
+package de.klosebrothers.rendering;
+
+import java.awt.image.BufferedImage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class FrameRasterizerTest {
+
+    private static final String[] VERTEX_NAMES = {"testVertex", "anotherVertex"};
+
+    @Test
+    void itShouldLayOutVerticesOncePerVertexSetWhileEdgesChange() {
+        FrameRasterizer frameRasterizer = new FrameRasterizer();
+
+        BufferedImage firstImage = frameRasterizer.rasterize(new GraphFrame(VERTEX_NAMES, new int[]{0}, new int[]{1}, new double[]{2.0}));
+        frameRasterizer.rasterize(new GraphFrame(VERTEX_NAMES, new int[]{0}, new int[]{1}, new double[]{3.0}));
+        BufferedImage thirdImage = frameRasterizer.rasterize(new GraphFrame(VERTEX_NAMES, new int[]{1}, new int[]{0}, new double[]{3.0}));
+        int numberOfLayoutsForFirstVertexSet = frameRasterizer.getNumberOfLayouts();
+        frameRasterizer.rasterize(new GraphFrame(new String[]{"testVertex", "anotherVertex", "thirdVertex"}, new int[0], new int[0], new double[0]));
+
+        assertThat(numberOfLayoutsForFirstVertexSet).isEqualTo(1);
+        assertThat(frameRasterizer.getNumberOfLayouts()).isEqualTo(2);
+        assertThat(thirdImage.getWidth()).isEqualTo(firstImage.getWidth());
+        assertThat(thirdImage.getHeight()).isEqualTo(firstImage.getHeight());
+    }
+
+    @Test
+    void itShouldShareLayoutBetweenRenderingThreads() throws InterruptedException {
+        FrameRasterizer frameRasterizer = new FrameRasterizer();
+        GraphFrame frame = new GraphFrame(VERTEX_NAMES, new int[]{0}, new int[]{1}, new double[]{2.0});
+
+        Thread renderingThread = new Thread(() -> frameRasterizer.rasterize(frame));
+        renderingThread.start();
+        renderingThread.join();
+        frameRasterizer.rasterize(frame);
+
+        assertThat(frameRasterizer.getNumberOfLayouts()).isEqualTo(1);
+    }
+}
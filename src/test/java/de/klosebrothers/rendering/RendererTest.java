@@ -1,13 +1,16 @@
 package de.klosebrothers.rendering;
 
+import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import javax.imageio.ImageIO;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 import de.klosebrothers.graph.Vertex;
+import de.klosebrothers.graph.WeightedEdge;
 import de.klosebrothers.graph.WeightedGraph;
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.AfterEach;
@@ -81,4 +84,95 @@ class RendererTest {
         assertThat(testRenderFile).isFile();
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void itShouldRenderNumberedImagesAsynchronously() {
+        Renderer renderer = new Renderer(TEST_GENERATED_RESOURCES_PATH, "testRender", 0);
+        renderer.renderAsynchronously(new RenderingPolicy(2, 1, BackpressurePolicy.BLOCK));
+        WeightedGraph graph = new WeightedGraph();
+        Vertex testVertex = new Vertex("testVertex");
+        Vertex anotherVertex = new Vertex("anotherVertex");
+        graph.addVertex(testVertex);
+        graph.addVertex(anotherVertex);
+
+        renderer.renderPng(graph);
+        graph.addEdge(testVertex, anotherVertex, 2.0);
+        renderer.renderPng(graph);
+        renderer.renderPng(graph);
+        renderer.awaitRenderedFrames();
+
+        assertThat(new File(TEST_GENERATED_RESOURCES_PATH + "testRender0.png")).isFile();
+        assertThat(new File(TEST_GENERATED_RESOURCES_PATH + "testRender1.png")).isFile();
+        assertThat(new File(TEST_GENERATED_RESOURCES_PATH + "testRender2.png")).isFile();
+        assertThat(renderer.getNumberOfDroppedFrames()).isZero();
+    }
+
+    @Test
+    void itShouldAlwaysRenderLastFrameWhenDroppingFrames() {
+        Renderer renderer = new Renderer(TEST_GENERATED_RESOURCES_PATH, "testRender", 0);
+        renderer.renderAsynchronously(new RenderingPolicy(1, 1, BackpressurePolicy.DROP_NEWEST));
+        WeightedGraph graph = new WeightedGraph();
+        graph.addVertex(new Vertex("testVertex"));
+
+        for (int frame = 0; frame < 20; frame++) {
+            renderer.renderPng(graph);
+        }
+        renderer.awaitRenderedFrames();
+
+        assertThat(new File(TEST_GENERATED_RESOURCES_PATH + "testRender0.png")).isFile();
+        assertThat(new File(TEST_GENERATED_RESOURCES_PATH + "testRender19.png")).isFile();
+    }
+
+    @Test
+    void itShouldStreamFramesIntoGifWithoutWritingImages() {
+        Renderer renderer = new Renderer(TEST_GENERATED_RESOURCES_PATH, "testRender", 200);
+        renderer.setFrameOutput(FrameOutput.GIF_STREAM);
+        renderer.renderAsynchronously(RenderingPolicy.ofWorkers(2));
+        WeightedGraph graph = new WeightedGraph();
+        Vertex testVertex = new Vertex("testVertex");
+        Vertex anotherVertex = new Vertex("anotherVertex");
+        graph.addVertex(testVertex);
+        graph.addVertex(anotherVertex);
+
+        renderer.renderPng(graph);
+        graph.addEdge(testVertex, anotherVertex, 2.0);
+        renderer.renderPng(graph);
+        renderer.renderGif();
+
+        assertThat(new File(TEST_GENERATED_RESOURCES_PATH + "testRender.gif")).isFile();
+        assertThat(new File(TEST_GENERATED_RESOURCES_PATH + "testRender0.png")).doesNotExist();
+    }
+
+    @Test
+    void itShouldRenderFramesWhileEdgesAreAddedChangedAndRemoved() {
+        Renderer renderer = new Renderer(TEST_GENERATED_RESOURCES_PATH, "testRender", 0);
+        WeightedGraph graph = new WeightedGraph();
+        Vertex testVertex = new Vertex("testVertex");
+        Vertex anotherVertex = new Vertex("anotherVertex");
+        graph.addVertex(testVertex);
+        graph.addVertex(anotherVertex);
+
+        WeightedEdge edge = graph.addEdge(testVertex, anotherVertex, 2.0);
+        renderer.renderPng(graph);
+        graph.addEdgeWeight(edge, 1.0);
+        renderer.renderPng(graph);
+        graph.removeEdge(testVertex, anotherVertex);
+        graph.addEdge(anotherVertex, testVertex, 3.0);
+        renderer.renderPng(graph);
+
+        BufferedImage firstFrame = readImage(TEST_GENERATED_RESOURCES_PATH + "testRender0.png");
+        BufferedImage thirdFrame = readImage(TEST_GENERATED_RESOURCES_PATH + "testRender2.png");
+
+        assertThat(new File(TEST_GENERATED_RESOURCES_PATH + "testRender1.png")).isFile();
+        assertThat(thirdFrame.getWidth()).isEqualTo(firstFrame.getWidth());
+        assertThat(thirdFrame.getHeight()).isEqualTo(firstFrame.getHeight());
+    }
+
+    private static BufferedImage readImage(String path) {
+        try {
+            return ImageIO.read(new File(path));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package de.klosebrothers.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class DoubleUtilTest {
+
+    @Test
+    void itShouldRoundToTwoPlaces() {
+        assertThat(DoubleUtil.roundToTwoPlaces(1.005)).isEqualTo(1.01);
+    }
+
+    @Test
+    void itShouldConvertToAndFromMinorUnits() {
+        assertThat(DoubleUtil.toMinorUnits(31.86)).isEqualTo(3186L);
+        assertThat(DoubleUtil.fromMinorUnits(3186L)).isEqualTo(31.86);
+    }
+
+    @Test
+    void itShouldDistributeRemainderToFirstShares() {
+        long[] shares = DoubleUtil.splitMinorUnits(1000L, 3);
+
+        assertThat(shares).containsExactly(334L, 333L, 333L);
+    }
+
+    @Test
+    void itShouldSplitNegativeAmountsWithoutLosingMinorUnits() {
+        long[] shares = DoubleUtil.splitMinorUnits(-1000L, 3);
+
+        assertThat(shares).containsExactly(-333L, -333L, -334L);
+    }
+
+    @Test
+    void itShouldSplitIntoNoSharesWithoutFailing() {
+        long[] shares = DoubleUtil.splitMinorUnits(1000L, 0);
+
+        assertThat(shares).isEmpty();
+    }
+}
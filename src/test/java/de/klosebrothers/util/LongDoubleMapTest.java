@@ -0,0 +1,52 @@
+package de.klosebrothers.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class LongDoubleMapTest {
+
+    @Test
+    void itShouldSumValuesAddedForSameKey() {
+        LongDoubleMap map = new LongDoubleMap();
+
+        map.add(42L, 1.5);
+        map.add(42L, 2.5);
+
+        assertThat(map.get(42L)).isEqualTo(4.0);
+        assertThat(map.get(7L)).isEqualTo(0.0);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void itShouldKeepAllEntriesWhenGrowing() {
+        LongDoubleMap map = new LongDoubleMap();
+        for (long key = 0; key < 10_000; key++) {
+            map.add(key << 32 | key, key);
+        }
+
+        Map<Long, Double> entries = new HashMap<>();
+        map.forEach(entries::put);
+
+        assertThat(map.size()).isEqualTo(10_000);
+        assertThat(entries).hasSize(10_000);
+        assertThat(entries.get(1234L << 32 | 1234L)).isEqualTo(1234.0);
+    }
+
+    @Test
+    void itShouldNotCarryValuesOverWhenReusedAfterClear() {
+        LongDoubleMap map = new LongDoubleMap();
+        map.add(5L, 100.0);
+        map.add(6L, 50.0);
+
+        map.clear();
+        map.add(5L, 1.0);
+
+        assertThat(map.get(5L)).isEqualTo(1.0);
+        assertThat(map.get(6L)).isEqualTo(0.0);
+        assertThat(map.size()).isEqualTo(1);
+    }
+}